@@ -0,0 +1,78 @@
+package tl.GUI;
+
+import java.util.concurrent.TimeUnit;
+
+import org.newdawn.slick.SlickException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole frame of a TGUI, and finding the component under a moving cursor, on trees of 10 to 10,000 
+ * components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TGUIBenchmark
+{
+	@Param({"10", "100", "1000", "10000"})
+	public int components;
+
+	private TGUI gui;
+	private TRenderCommandBuffer buffer;
+	private TGUIComponent target;
+	private float cursorX[];
+	private float cursorY[];
+	private int cursor;
+
+	@Setup
+	public void setup() throws SlickException
+	{
+		THeadless.init();
+		gui = THeadless.createTree(components);
+		buffer = new TRenderCommandBuffer();
+		target = gui.getControl(gui.controlCount() - 1);
+		cursorX = new float[256];
+		cursorY = new float[256];
+		for (int i = 0; i < cursorX.length; ++i)
+		{
+			cursorX[i] = (i * 37) % 800;
+			cursorY[i] = (i * 53) % 600;
+		}
+	}
+
+	/**
+	 * One call to TGUI.update, drawing into a command buffer instead of the screen.
+	 */
+	@Benchmark
+	public int update()
+	{
+		buffer.reset();
+		gui.update(buffer);
+		return buffer.size();
+	}
+
+	/**
+	 * Moves the cursor, then asks a component whether or not the cursor is over it, the way every component does in 
+	 * its update.
+	 */
+	@Benchmark
+	public boolean mouseIsOver()
+	{
+		cursor = (cursor + 1) & (cursorX.length - 1);
+		gui.getPicker().resolve(cursorX[cursor], cursorY[cursor]);
+		return target.mouseIsOver();
+	}
+}
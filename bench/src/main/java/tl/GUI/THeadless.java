@@ -0,0 +1,61 @@
+package tl.GUI;
+
+import java.awt.Font;
+
+import org.newdawn.slick.Input;
+import org.newdawn.slick.SlickException;
+
+import tl.Util.TCursor;
+
+/**
+ * Sets the GUI up without a GL context or a window, for the benchmarks.
+ */
+public final class THeadless
+{
+	private static boolean initialised;
+
+	private THeadless() {}
+
+	/**
+	 * Initialises the TGUIManager and the cursor with a stub Input that never has a key down, and an 800x600 screen.
+	 */
+	public static synchronized void init()
+	{
+		if (initialised)
+			return;
+		Input input = new Input(600)
+		{
+			public boolean isKeyDown(int code)
+			{
+				return false;
+			}
+		};
+		TGUIManager.initHeadless(input, 800, 600, new TJava2DFont(new Font("SansSerif", Font.PLAIN, 12)));
+		TCursor.init(input);
+		initialised = true;
+	}
+
+	/**
+	 * Builds a TGUI of panels holding buttons, with as close to the given number of components as possible. Each panel
+	 * holds up to 9 buttons laid out in a grid.
+	 * @param components - The number of components.
+	 * @return - The TGUI.
+	 * @throws SlickException - If a button can't be created.
+	 */
+	public static TGUI createTree(int components) throws SlickException
+	{
+		TGUI gui = new TGUI();
+		int made = 0;
+		int panel = 0;
+		while (made < components)
+		{
+			TGUIComponent root = new TGUIComponent(null, (panel % 16) * 50, (panel / 16 % 12) * 50, 48, 48);
+			++made;
+			for (int i = 0; i < 9 && made < components; ++i, ++made)
+				new TButton(root, 1 + (i % 3) * 15, 1 + (i / 3) * 15, 14, 14, "" + i);
+			gui.addControl(root);
+			++panel;
+		}
+		return gui;
+	}
+}
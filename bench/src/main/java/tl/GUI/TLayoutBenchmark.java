@@ -0,0 +1,60 @@
+package tl.GUI;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a full measure and arrange pass of a vertical and a horizontal layout holding 10 to 10,000 components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TLayoutBenchmark
+{
+	@Param({"10", "100", "1000", "10000"})
+	public int components;
+
+	private TGUIVBoxLayout vertical;
+	private TGUIHBoxLayout horizontal;
+
+	@Setup
+	public void setup()
+	{
+		THeadless.init();
+		vertical = new TGUIVBoxLayout(null, false);
+		horizontal = new TGUIHBoxLayout(null, false);
+		for (int i = 0; i < components; ++i)
+		{
+			vertical.addComponent(new TGUIObject());
+			horizontal.addComponent(new TGUIObject());
+		}
+	}
+
+	@Benchmark
+	public int organiseVertical()
+	{
+		vertical.organise();
+		return vertical.getSize().height;
+	}
+
+	@Benchmark
+	public int organiseHorizontal()
+	{
+		horizontal.organise();
+		return horizontal.getSize().width;
+	}
+}
@@ -0,0 +1,98 @@
+package tl.GUI;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+import org.newdawn.slick.Input;
+import org.newdawn.slick.SlickException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the text heavy paths: wrapping a label's text into lines, both from scratch and through the shared layout
+ * cache, drawing a list box, and typing into a text box.
+ * The label's text and the list box's items grow with the number of components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TTextBenchmark
+{
+	@Param({"10", "100", "1000", "10000"})
+	public int components;
+
+	private TLabel label;
+	private LinkedList<TLabel.Split> lines;
+	private TListBox listBox;
+	private TTextBox textBox;
+	private TRenderCommandBuffer buffer;
+	private int typed;
+
+	@Setup
+	public void setup() throws SlickException
+	{
+		THeadless.init();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < components; ++i)
+			text.append(i % 8 == 7 ? "line[[" : "word ");
+		label = new TLabel(null, 0, 0, 200, 600, text.toString());
+		lines = new LinkedList<TLabel.Split>();
+		listBox = new TListBox(null, 0, 0, 200, 600);
+		for (int i = 0; i < components; ++i)
+			listBox.addItem("item " + i);
+		textBox = new TTextBox(null, 0, 0, 400, 20);
+		TGUI gui = new TGUI(label, listBox, textBox);
+		gui.setFocus(textBox);
+		buffer = new TRenderCommandBuffer();
+	}
+
+	@Benchmark
+	public int createLayout()
+	{
+		return TTextLayout.create(label.getText(), TGUIManager.guiFont, 200, TEAlignment.CENTRE_LEFT, 14, 2).getLineCount();
+	}
+
+	@Benchmark
+	public int fillListWithLines()
+	{
+		lines.clear();
+		label.fillListWithLines(lines);
+		return lines.size();
+	}
+
+	@Benchmark
+	public int drawListBox() throws SlickException
+	{
+		buffer.reset();
+		listBox.draw(buffer);
+		return buffer.size();
+	}
+
+	/**
+	 * Types a character, then deletes it again every so often so that the text box never fills up.
+	 */
+	@Benchmark
+	public int keyPressed()
+	{
+		if (++typed % 32 == 0)
+		{
+			for (int i = 0; i < 31; ++i)
+				textBox.keyPressed(Input.KEY_BACK, '\b');
+		}
+		else
+			textBox.keyPressed(Input.KEY_A, 'a');
+		return textBox.getCaretPosition();
+	}
+}
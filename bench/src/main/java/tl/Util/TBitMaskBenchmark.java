@@ -0,0 +1,74 @@
+package tl.Util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks every TBitMask operation on a single mask, cycling through the bit indices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TBitMaskBenchmark
+{
+	private final TBitMask mask = new TBitMask((byte)0x5A);
+	private byte index;
+
+	private byte next()
+	{
+		return index = (byte)((index + 1) & 7);
+	}
+
+	@Benchmark
+	public byte pushPop()
+	{
+		mask.push(true);
+		return mask.pop();
+	}
+
+	@Benchmark
+	public byte flip()
+	{
+		mask.flip();
+		return mask.getValue();
+	}
+
+	@Benchmark
+	public byte toggleBit()
+	{
+		mask.toggleBit(next());
+		return mask.getValue();
+	}
+
+	@Benchmark
+	public byte setBit()
+	{
+		byte i = next();
+		mask.setBit(i, (i & 1) == 0);
+		return mask.getValue();
+	}
+
+	@Benchmark
+	public byte getBit()
+	{
+		return mask.getBit(next());
+	}
+
+	@Benchmark
+	public boolean[] getBits()
+	{
+		return mask.getBits();
+	}
+}
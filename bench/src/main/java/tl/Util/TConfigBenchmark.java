@@ -0,0 +1,66 @@
+package tl.Util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tl.Util.TConfigLoader.Setting;
+
+/**
+ * Benchmarks looking options up in a TConfig holding 10 to 100,000 settings, in a random order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TConfigBenchmark
+{
+	@Param({"10", "1000", "100000"})
+	public int keys;
+
+	private TConfig config;
+	private String options[];
+	private int index;
+
+	@Setup
+	public void setup()
+	{
+		config = new TConfig("bench.cfg");
+		for (int i = 0; i < keys; ++i)
+			config.addSetting(new Setting("option" + i + "=" + i));
+		Random random = new Random(42);
+		options = new String[1024];
+		for (int i = 0; i < options.length; ++i)
+			options[i] = new String("option" + random.nextInt(keys)); // a new String, so lookups can't compare by reference
+	}
+
+	private int next()
+	{
+		return index = (index + 1) & (options.length - 1);
+	}
+
+	@Benchmark
+	public String getValue()
+	{
+		return config.getValue(options[next()]);
+	}
+
+	@Benchmark
+	public int getInt()
+	{
+		return config.getInt(options[next()]);
+	}
+}
@@ -0,0 +1,90 @@
+package tl.Util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the TPoint and TBound queries used for hit testing and movement, over a set of random points and boxes
+ * that are partly inside, partly overlapping and partly outside a fixed bound.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TGeometryBenchmark
+{
+	private TPoint points[];
+	private TBound boxes[];
+	private TBound bound;
+	private int index;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+		points = new TPoint[1024];
+		boxes = new TBound[points.length];
+		for (int i = 0; i < points.length; ++i)
+		{
+			points[i] = new TPoint(random.nextFloat() * 800, random.nextFloat() * 600);
+			boxes[i] = new TBound(random.nextFloat() * 800, random.nextFloat() * 600, 1 + random.nextInt(200), 1 + random.nextInt(200));
+		}
+		bound = new TBound(200, 150, 400, 300);
+	}
+
+	private int next()
+	{
+		return index = (index + 1) & (points.length - 1);
+	}
+
+	@Benchmark
+	public double distance()
+	{
+		int i = next();
+		return TPoint.distance(points[i], points[(i + 1) & (points.length - 1)]);
+	}
+
+	@Benchmark
+	public TPoint normalize()
+	{
+		return TPoint.normalize(points[next()]);
+	}
+
+	@Benchmark
+	public boolean isWithinPoint()
+	{
+		return bound.isWithin(points[next()]);
+	}
+
+	@Benchmark
+	public boolean isWithinBound()
+	{
+		return bound.isWithin(boxes[next()]);
+	}
+
+	@Benchmark
+	public boolean intersectsBound()
+	{
+		return bound.intersects(boxes[next()]);
+	}
+
+	@Benchmark
+	public boolean intersectsArea()
+	{
+		TBound box = boxes[next()];
+		return bound.intersects(box.getX(), box.getY(), box.getWidth(), box.getHeight());
+	}
+}
@@ -0,0 +1,70 @@
+package tl.Util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks filling a TBinaryTree with shuffled keys, and counting the nodes of a TGeneralTree where every node has up
+ * to 8 children.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TTreeBenchmark
+{
+	@Param({"10", "1000", "100000"})
+	public int nodes;
+
+	private Integer keys[];
+	private TGeneralTree<Integer> general;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+		keys = new Integer[nodes];
+		for (int i = 0; i < nodes; ++i)
+			keys[i] = random.nextInt();
+
+		general = new TGeneralTree<Integer>(0);
+		TGeneralTree.TreeNode<?> parents[] = new TGeneralTree.TreeNode<?>[nodes];
+		parents[0] = general.getRoot();
+		for (int i = 1; i < nodes; ++i)
+		{
+			@SuppressWarnings("unchecked")
+			TGeneralTree.TreeNode<Integer> parent = (TGeneralTree.TreeNode<Integer>)parents[(i - 1) / 8];
+			parent.addObject(i);
+			parents[i] = parent.getChild(parent.childCount() - 1);
+		}
+	}
+
+	@Benchmark
+	public int binaryTreeAddObject()
+	{
+		TBinaryTree<Integer> tree = new TBinaryTree<Integer>();
+		for (Integer key : keys)
+			tree.addObject(key);
+		return tree.size();
+	}
+
+	@Benchmark
+	public int generalTreeSize()
+	{
+		return general.size();
+	}
+}
@@ -0,0 +1,110 @@
+package tl.Util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares FastTrig against Math and StrictMath, and benchmarks the TPoint rotations built on it.<br>
+ * Small angles are already inside FastTrig's safe range of -PI/4 to PI/4, so they measure the cost of the checks alone.
+ * Large angles are spread over thousands of radians, so every call has to reduce the angle first.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TTrigBenchmark
+{
+	@Param({"small", "large"})
+	public String angles;
+
+	private double radians[];
+	private float degrees[];
+	private TPoint point;
+	private int index;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+		radians = new double[1024];
+		degrees = new float[radians.length];
+		double range = angles.equals("small") ? Math.PI / 4 : 10000.0;
+		for (int i = 0; i < radians.length; ++i)
+		{
+			radians[i] = (random.nextDouble() * 2.0 - 1.0) * range;
+			degrees[i] = (float)Math.toDegrees(radians[i]);
+		}
+		point = new TPoint(3, 4);
+	}
+
+	private int next()
+	{
+		return index = (index + 1) & (radians.length - 1);
+	}
+
+	@Benchmark
+	public double fastTrigSin()
+	{
+		return FastTrig.sin(radians[next()]);
+	}
+
+	@Benchmark
+	public double mathSin()
+	{
+		return Math.sin(radians[next()]);
+	}
+
+	@Benchmark
+	public double strictMathSin()
+	{
+		return StrictMath.sin(radians[next()]);
+	}
+
+	@Benchmark
+	public double fastTrigCos()
+	{
+		return FastTrig.cos(radians[next()]);
+	}
+
+	@Benchmark
+	public double mathCos()
+	{
+		return Math.cos(radians[next()]);
+	}
+
+	@Benchmark
+	public double strictMathCos()
+	{
+		return StrictMath.cos(radians[next()]);
+	}
+
+	/**
+	 * Rotates the same point in place. Its length never changes, so it stays in range however long the benchmark runs.
+	 */
+	@Benchmark
+	public float rotate()
+	{
+		point.rotate(degrees[next()]);
+		return point.x;
+	}
+
+	@Benchmark
+	public TPoint transformRotate()
+	{
+		return TPoint.transformRotate(degrees[next()], point);
+	}
+}
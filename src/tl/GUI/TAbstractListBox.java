@@ -178,12 +178,12 @@ public abstract class TAbstractListBox<T> extends TGUIComponent implements TIGUI
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
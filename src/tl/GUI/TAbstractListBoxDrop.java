@@ -57,6 +57,7 @@ public abstract class TAbstractListBoxDrop<T> extends TAbstractListBox<T>
 			resize();
 		else
 			size.height = normalHeight;
+		invalidateHit();
 		changed = true;
 	}
 	
@@ -67,6 +68,24 @@ public abstract class TAbstractListBoxDrop<T> extends TAbstractListBox<T>
 			this.size.height = (defH - 5) * numItems;
 		if (defH * numItems < defH)
 			this.size.height = defH;
+		invalidateHit();
+	}
+	
+	protected boolean isFocusable()
+	{
+		return true;
+	}
+	
+	/**
+	 * Closes the drop box when something else is clicked on.
+	 */
+	protected void focusLost()
+	{
+		if (dropped)
+		{
+			dropped = false;
+			changed = true;
+		}
 	}
 	
 	protected void change()
@@ -228,9 +247,9 @@ public abstract class TAbstractListBoxDrop<T> extends TAbstractListBox<T>
 		return x >= size.width - 12 && x < size.width - 2 && y >= 0 && y < (dropped ? size.height : defH);
 	}
 	
-	public boolean mouseIsOver()
+	protected boolean hitTest(float x, float y)
 	{
-		return TCursor.getX() >= screenPos.x && TCursor.getX() <= screenPos.x + size.width && TCursor.getY() >= screenPos.y && TCursor.getY() <= screenPos.y + (dropped ? size.height : defH) && visible;
+		return x >= screenPos.x && x <= screenPos.x + size.width && y >= screenPos.y && y <= screenPos.y + (dropped ? size.height : defH) && visible;
 	}
 	
 	public void addItem(T item)
@@ -312,7 +331,10 @@ public abstract class TAbstractListBoxDrop<T> extends TAbstractListBox<T>
 		numDown = 0;
 		selected = -1;
 		if (resizeable)
+		{
 			size.height = defH;
+			invalidateHit();
+		}
 		changed = true;
 	}
 }
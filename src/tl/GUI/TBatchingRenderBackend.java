@@ -0,0 +1,405 @@
+package tl.GUI;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Image;
+
+/**
+ * TBatchingRenderBackend collects a frame of commands and draws them through another backend, grouped by state.<br>
+ * Every rect, line, string, image and polygon is added to the latest batch with the same kind, colour and font or
+ * image, unless something with a different state that overlaps it has been drawn since. Overlapping commands are
+ * therefore still drawn in the order they were recorded, and everything else is drawn with one colour change per
+ * batch. Outlined rects are split into their four lines, the same way Slick draws them.<br>
+ * Commands are sorted into batches as they are recorded, using a grid of the screen to find the commands they overlap,
+ * and the batches are drawn when the frame ends. If the target backend is a {@link TIBatchRenderBackend}, each batch of
+ * rects, lines or images is drawn with a single call.
+ * @since 2.3
+ * @see TGUI#setRenderBackend(TIRenderBackend)
+ */
+public class TBatchingRenderBackend implements TIRenderBackend
+{
+	/**
+	 * The width and height in pixels of a single grid cell.
+	 */
+	public static final int CELL_SIZE = 16;
+
+	private static final byte FILL_RECT = 0;
+	private static final byte LINE = 1;
+	private static final byte STRING = 2;
+	private static final byte IMAGE = 3;
+	private static final byte DRAW_POLYGON = 4;
+	private static final byte FILL_POLYGON = 5;
+
+	private final TIRenderBackend target;
+	private final TIBatchRenderBackend batchTarget;
+
+	private float r = 1, g = 1, b = 1, a = 1;
+	private Font font;
+
+	private int itemCount;
+	private float itemArgs[] = new float[256];
+	private Object itemRefs[] = new Object[64];
+	private float itemBounds[] = new float[256];
+	private int itemBatch[] = new int[64];
+	private int itemNext[] = new int[64];
+
+	private int batchCount;
+	private Key batchKeys[] = new Key[16];
+	private int batchHead[] = new int[16];
+	private int batchTail[] = new int[16];
+	private int batchSize[] = new int[16];
+	private final HashMap<Key, Integer> latest = new HashMap<Key, Integer>();
+	private final Key probe = new Key();
+
+	private int cells[][] = new int[0][];
+	private int cellCounts[] = new int[0];
+	private int columns;
+	private int rows;
+
+	private float scratch[] = new float[256];
+
+	/**
+	 * TBatchingRenderBackend's constructor.
+	 * @param target - The backend the batches are drawn through.
+	 */
+	public TBatchingRenderBackend(TIRenderBackend target)
+	{
+		this.target = target;
+		batchTarget = target instanceof TIBatchRenderBackend ? (TIBatchRenderBackend)target : null;
+	}
+
+	/**
+	 * @return - The backend the batches are drawn through.
+	 */
+	public TIRenderBackend getTarget()
+	{
+		return target;
+	}
+
+	/**
+	 * @return - The number of batches in the last frame.
+	 */
+	public int getBatches()
+	{
+		return batchCount;
+	}
+
+	/**
+	 * Clears the batches of the last frame.
+	 */
+	public void begin()
+	{
+		Arrays.fill(itemRefs, 0, itemCount, null);
+		Arrays.fill(batchKeys, 0, batchCount, null);
+		itemCount = batchCount = 0;
+		latest.clear();
+		r = g = b = a = 1;
+		font = null;
+
+		int c = (Math.max(TGUIManager.screenWidth, 1) + CELL_SIZE - 1) / CELL_SIZE;
+		int rw = (Math.max(TGUIManager.screenHeight, 1) + CELL_SIZE - 1) / CELL_SIZE;
+		if (c != columns || rw != rows)
+		{
+			columns = c;
+			rows = rw;
+			cells = new int[columns * rows][];
+			cellCounts = new int[columns * rows];
+			for (int i = 0; i < cells.length; ++i)
+				cells[i] = new int[8];
+		}
+		else
+			Arrays.fill(cellCounts, 0);
+	}
+
+	/**
+	 * Draws the batches of the frame through the target backend, in order.
+	 */
+	public void end()
+	{
+		target.begin();
+		float cr = Float.NaN, cg = 0, cb = 0, ca = 0;
+		Font cf = null;
+		for (int i = 0; i < batchCount; ++i)
+		{
+			Key key = batchKeys[i];
+			if (key.kind != IMAGE && (key.r != cr || key.g != cg || key.b != cb || key.a != ca))
+			{
+				target.setColour(key.r, key.g, key.b, key.a);
+				cr = key.r;
+				cg = key.g;
+				cb = key.b;
+				ca = key.a;
+			}
+			if (key.kind == STRING && key.ref != null && key.ref != cf)
+			{
+				target.setFont((Font)key.ref);
+				cf = (Font)key.ref;
+			}
+			drawBatch(i, key);
+		}
+		target.end();
+	}
+
+	private void drawBatch(int batch, Key key)
+	{
+		int stride = key.kind == IMAGE ? 2 : 4;
+		if (batchTarget != null && (key.kind == FILL_RECT || key.kind == LINE || key.kind == IMAGE))
+		{
+			int count = batchSize[batch];
+			if (scratch.length < count * stride)
+				scratch = new float[count * stride * 2];
+			int n = 0;
+			for (int item = batchHead[batch]; item != -1; item = itemNext[item])
+				for (int j = 0; j < stride; ++j)
+					scratch[n++] = itemArgs[item * 4 + j];
+			if (key.kind == FILL_RECT)
+				batchTarget.fillRects(scratch, count);
+			else if (key.kind == LINE)
+				batchTarget.drawLines(scratch, count);
+			else
+				batchTarget.drawImages((Image)key.ref, scratch, count, key.r, key.g, key.b, key.a);
+			return;
+		}
+
+		for (int item = batchHead[batch]; item != -1; item = itemNext[item])
+		{
+			int arg = item * 4;
+			switch (key.kind)
+			{
+			case FILL_RECT:
+				target.fillRect(itemArgs[arg], itemArgs[arg + 1], itemArgs[arg + 2], itemArgs[arg + 3]);
+				break;
+			case LINE:
+				target.drawLine(itemArgs[arg], itemArgs[arg + 1], itemArgs[arg + 2], itemArgs[arg + 3]);
+				break;
+			case STRING:
+				target.drawString((String)itemRefs[item], itemArgs[arg], itemArgs[arg + 1]);
+				break;
+			case IMAGE:
+				target.drawImage((Image)key.ref, itemArgs[arg], itemArgs[arg + 1], key.r, key.g, key.b, key.a);
+				break;
+			case DRAW_POLYGON:
+			case FILL_POLYGON:
+				target.drawPolygon((float[])itemRefs[item], key.kind == FILL_POLYGON);
+				break;
+			}
+		}
+	}
+
+	public void setColour(float r, float g, float b, float a)
+	{
+		this.r = r;
+		this.g = g;
+		this.b = b;
+		this.a = a;
+	}
+
+	public void setFont(Font font)
+	{
+		this.font = font;
+	}
+
+	public void fillRect(float x, float y, float width, float height)
+	{
+		add(FILL_RECT, r, g, b, a, null, null, x, y, width, height, x, y, x + width, y + height);
+	}
+
+	public void drawRect(float x, float y, float width, float height)
+	{
+		drawLine(x, y, x + width, y);
+		drawLine(x + width, y, x + width, y + height);
+		drawLine(x + width, y + height, x, y + height);
+		drawLine(x, y + height, x, y);
+	}
+
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		add(LINE, r, g, b, a, null, null, x1, y1, x2, y2,
+				Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2) + 1, Math.max(y1, y2) + 1);
+	}
+
+	public void drawString(String text, float x, float y)
+	{
+		if (font == null)
+			add(STRING, r, g, b, a, null, text, x, y, 0, 0,
+					Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+		else
+			add(STRING, r, g, b, a, font, text, x, y, 0, 0,
+					x, y, x + font.getWidth(text), y + Math.max(font.getLineHeight(), font.getHeight(text)));
+	}
+
+	public void drawImage(Image image, float x, float y, float r, float g, float b, float a)
+	{
+		add(IMAGE, r, g, b, a, image, null, x, y, 0, 0, x, y, x + image.getWidth(), y + image.getHeight());
+	}
+
+	public void drawPolygon(float points[], boolean filled)
+	{
+		float left = Float.POSITIVE_INFINITY, top = Float.POSITIVE_INFINITY;
+		float right = Float.NEGATIVE_INFINITY, bottom = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < points.length; i += 2)
+		{
+			left = Math.min(left, points[i]);
+			top = Math.min(top, points[i + 1]);
+			right = Math.max(right, points[i] + 1);
+			bottom = Math.max(bottom, points[i + 1] + 1);
+		}
+		add(filled ? FILL_POLYGON : DRAW_POLYGON, r, g, b, a, null, points, 0, 0, 0, 0, left, top, right, bottom);
+	}
+
+	/**
+	 * Adds a command to the latest batch with the same state, if nothing with a different state that overlaps it has
+	 * been added after that batch, otherwise to a new batch.
+	 */
+	private void add(byte kind, float r, float g, float b, float a, Object stateRef, Object ref,
+			float arg0, float arg1, float arg2, float arg3, float left, float top, float right, float bottom)
+	{
+		probe.set(kind, r, g, b, a, stateRef);
+		Integer found = latest.get(probe);
+		int candidate = found == null ? -1 : found.intValue();
+
+		int item = itemCount++;
+		ensureItems(itemCount);
+		itemArgs[item * 4] = arg0;
+		itemArgs[item * 4 + 1] = arg1;
+		itemArgs[item * 4 + 2] = arg2;
+		itemArgs[item * 4 + 3] = arg3;
+		itemRefs[item] = ref;
+		itemBounds[item * 4] = left;
+		itemBounds[item * 4 + 1] = top;
+		itemBounds[item * 4 + 2] = right;
+		itemBounds[item * 4 + 3] = bottom;
+		itemNext[item] = -1;
+
+		int c1 = column(left), c2 = column(right), r1 = row(top), r2 = row(bottom);
+		if (candidate != -1)
+		{
+			search:
+			for (int row = r1; row <= r2; ++row)
+			{
+				for (int column = c1; column <= c2; ++column)
+				{
+					int cell = row * columns + column;
+					int list[] = cells[cell];
+					for (int i = cellCounts[cell] - 1; i >= 0; --i)
+					{
+						int other = list[i];
+						if (itemBatch[other] > candidate && overlaps(item, other))
+						{
+							candidate = -1;
+							break search;
+						}
+					}
+				}
+			}
+		}
+
+		if (candidate == -1)
+		{
+			candidate = batchCount++;
+			if (batchCount > batchKeys.length)
+			{
+				batchKeys = Arrays.copyOf(batchKeys, batchCount * 2);
+				batchHead = Arrays.copyOf(batchHead, batchCount * 2);
+				batchTail = Arrays.copyOf(batchTail, batchCount * 2);
+				batchSize = Arrays.copyOf(batchSize, batchCount * 2);
+			}
+			Key key = new Key();
+			key.set(kind, r, g, b, a, stateRef);
+			batchKeys[candidate] = key;
+			batchHead[candidate] = item;
+			batchSize[candidate] = 0;
+			latest.put(key, candidate);
+		}
+		else
+			itemNext[batchTail[candidate]] = item;
+		batchTail[candidate] = item;
+		++batchSize[candidate];
+		itemBatch[item] = candidate;
+
+		for (int row = r1; row <= r2; ++row)
+		{
+			for (int column = c1; column <= c2; ++column)
+			{
+				int cell = row * columns + column;
+				if (cellCounts[cell] == cells[cell].length)
+					cells[cell] = Arrays.copyOf(cells[cell], cellCounts[cell] * 2);
+				cells[cell][cellCounts[cell]++] = item;
+			}
+		}
+	}
+
+	private boolean overlaps(int item, int other)
+	{
+		int i = item * 4, o = other * 4;
+		return itemBounds[i] < itemBounds[o + 2] && itemBounds[o] < itemBounds[i + 2]
+				&& itemBounds[i + 1] < itemBounds[o + 3] && itemBounds[o + 1] < itemBounds[i + 3];
+	}
+
+	private void ensureItems(int count)
+	{
+		if (count <= itemBatch.length)
+			return;
+		int length = count * 2;
+		itemArgs = Arrays.copyOf(itemArgs, length * 4);
+		itemBounds = Arrays.copyOf(itemBounds, length * 4);
+		itemRefs = Arrays.copyOf(itemRefs, length);
+		itemBatch = Arrays.copyOf(itemBatch, length);
+		itemNext = Arrays.copyOf(itemNext, length);
+	}
+
+	private int column(float x)
+	{
+		return clamp(x / CELL_SIZE, columns);
+	}
+
+	private int row(float y)
+	{
+		return clamp(y / CELL_SIZE, rows);
+	}
+
+	private static int clamp(float value, int length)
+	{
+		return value < 0 ? 0 : (value >= length ? length - 1 : (int)value);
+	}
+
+	/**
+	 * The state a batch is drawn with.
+	 */
+	private static class Key
+	{
+		byte kind;
+		float r, g, b, a;
+		Object ref;
+
+		void set(byte kind, float r, float g, float b, float a, Object ref)
+		{
+			this.kind = kind;
+			this.r = r;
+			this.g = g;
+			this.b = b;
+			this.a = a;
+			this.ref = ref;
+		}
+
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Key))
+				return false;
+			Key k = (Key)o;
+			return kind == k.kind && r == k.r && g == k.g && b == k.b && a == k.a && ref == k.ref;
+		}
+
+		public int hashCode()
+		{
+			int hash = kind;
+			hash = hash * 31 + Float.floatToIntBits(r);
+			hash = hash * 31 + Float.floatToIntBits(g);
+			hash = hash * 31 + Float.floatToIntBits(b);
+			hash = hash * 31 + Float.floatToIntBits(a);
+			return hash * 31 + System.identityHashCode(ref);
+		}
+	}
+}
@@ -103,7 +103,6 @@ public class TButton extends TGUIComponent
 		changed = false;
 	}
 	
-	@SuppressWarnings("deprecation")
 	protected void draw(Graphics g) throws SlickException
 	{/*
 		if (normal == TGUIManager.emptyImage)
@@ -156,7 +155,8 @@ public class TButton extends TGUIComponent
 			g.drawLine(widthpos, screenPos.y + 1, widthpos, heightpos);
 			g.drawLine(screenPos.x + 1, heightpos, widthpos, heightpos);
 			g.setColor(font_colour);
-			g.drawString(text, screenPos.x + (size.width / 2 - (TGUIManager.guiFont.getWidth(text) / 2)), screenPos.y + (size.height / 2 - (TGUIManager.guiFont.getHeight(text) / 2)));
+			TFontMetrics metrics = TGUIManager.getFontMetrics();
+			g.drawString(text, screenPos.x + (size.width / 2 - (metrics.getWidth(text) / 2)), screenPos.y + (size.height / 2 - (metrics.getHeight(text) / 2)));
 			g.setColor(TGUIManager.BLACK);
 		}
 		else if (isPushed)
@@ -173,7 +173,8 @@ public class TButton extends TGUIComponent
 			g.drawLine(widthpos, screenPos.y + 1, widthpos, heightpos);
 			g.drawLine(screenPos.x + 1, heightpos, widthpos, heightpos);
 			g.setColor(font_colour);
-			g.drawString(text, screenPos.x + (size.width / 2 - (TGUIManager.guiFont.getWidth(text) / 2) - 1), screenPos.y + (size.height / 2 - (TGUIManager.guiFont.getHeight(text) / 2) - 1));
+			TFontMetrics metrics = TGUIManager.getFontMetrics();
+			g.drawString(text, screenPos.x + (size.width / 2 - (metrics.getWidth(text) / 2) - 1), screenPos.y + (size.height / 2 - (metrics.getHeight(text) / 2) - 1));
 			g.setColor(TGUIManager.BLACK);
 		}
 	}
@@ -195,12 +196,12 @@ public class TButton extends TGUIComponent
 			isOver = false;
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -219,6 +220,7 @@ public class TButton extends TGUIComponent
 			{
 				graphic = pushed;
 				isPushed = true;
+				changed = true;
 			}
 			
 			if (mousePress != null)
@@ -245,8 +247,11 @@ public class TButton extends TGUIComponent
 				}
 			}
 			
-			if (button == 0)
+			if (button == 0 && isPushed)
+			{
 				isPushed = false;
+				changed = true;
+			}
 		}
 	}
 	
@@ -50,7 +50,6 @@ public class TButtonToggle extends TGUIComponent
 		changed = false;
 	}
 
-	@SuppressWarnings("deprecation")
 	protected void draw(Graphics g) throws SlickException
 	{
 		/*if (graphic == TGUIManager.emptyImage)
@@ -81,7 +80,8 @@ public class TButtonToggle extends TGUIComponent
 		g.drawLine(widthpos, screenPos.y + 1, widthpos, heightpos);
 		g.drawLine(screenPos.x + 1, heightpos, widthpos, heightpos);
 		g.setColor(font_colour);
-		g.drawString(text, screenPos.x + (size.width / 2 - (TGUIManager.guiFont.getWidth(text) / 2)), screenPos.y + (size.height / 2 - (TGUIManager.guiFont.getHeight(text) / 2)));
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		g.drawString(text, screenPos.x + (size.width / 2 - (metrics.getWidth(text) / 2)), screenPos.y + (size.height / 2 - (metrics.getHeight(text) / 2)));
 		g.setColor(TGUIManager.BLACK);
 	}
 	
@@ -102,12 +102,12 @@ public class TButtonToggle extends TGUIComponent
 			isOver = false;
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -156,7 +156,10 @@ public class TButtonToggle extends TGUIComponent
 	public void addItem(String item)
 	{
 		if (toggles.isEmpty())
+		{
 			text = item;
+			changed = true;
+		}
 		toggles.add(item);
 	}
 	
@@ -266,12 +266,12 @@ public class TContainer<T> extends TGUIComponent implements TIGUICollection
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -0,0 +1,174 @@
+package tl.GUI;
+
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Image;
+
+/**
+ * TCountingRenderBackend doesn't draw anything, it only counts the commands it is sent each frame.<br>
+ * It is used to run and profile the GUI without a GL context, where only the cost of the GUI logic is wanted.<br>
+ * Every call that would draw something counts as one draw call, so a batch of primitives drawn through a 
+ * {@link TBatchingRenderBackend} counts once.
+ * @since 2.3
+ * @see TIRenderBackend
+ */
+public class TCountingRenderBackend implements TIBatchRenderBackend
+{
+	private int colourChanges;
+	private int fontChanges;
+	private int rects;
+	private int lines;
+	private int strings;
+	private int images;
+	private int polygons;
+	private int drawCalls;
+	private int frames;
+
+	/**
+	 * Clears the counts of the last frame.
+	 */
+	public void begin()
+	{
+		colourChanges = fontChanges = rects = lines = strings = images = polygons = drawCalls = 0;
+	}
+
+	public void end()
+	{
+		++frames;
+	}
+
+	public void setColour(float r, float g, float b, float a)
+	{
+		++colourChanges;
+	}
+
+	public void setFont(Font font)
+	{
+		++fontChanges;
+	}
+
+	public void fillRect(float x, float y, float width, float height)
+	{
+		++rects;
+		++drawCalls;
+	}
+
+	public void drawRect(float x, float y, float width, float height)
+	{
+		++rects;
+		++drawCalls;
+	}
+
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		++lines;
+		++drawCalls;
+	}
+
+	public void drawString(String text, float x, float y)
+	{
+		++strings;
+		++drawCalls;
+	}
+
+	public void drawImage(Image image, float x, float y, float r, float g, float b, float a)
+	{
+		++images;
+		++drawCalls;
+	}
+
+	public void drawPolygon(float points[], boolean filled)
+	{
+		++polygons;
+		++drawCalls;
+	}
+
+	public void fillRects(float rects[], int count)
+	{
+		this.rects += count;
+		++drawCalls;
+	}
+
+	public void drawLines(float lines[], int count)
+	{
+		this.lines += count;
+		++drawCalls;
+	}
+
+	public void drawImages(Image image, float positions[], int count, float r, float g, float b, float a)
+	{
+		images += count;
+		++drawCalls;
+	}
+
+	/**
+	 * @return - The number of colour changes in the last frame.
+	 */
+	public int getColourChanges()
+	{
+		return colourChanges;
+	}
+
+	/**
+	 * @return - The number of font changes in the last frame.
+	 */
+	public int getFontChanges()
+	{
+		return fontChanges;
+	}
+
+	/**
+	 * @return - The number of filled and outlined rects in the last frame.
+	 */
+	public int getRects()
+	{
+		return rects;
+	}
+
+	/**
+	 * @return - The number of lines in the last frame.
+	 */
+	public int getLines()
+	{
+		return lines;
+	}
+
+	/**
+	 * @return - The number of strings in the last frame.
+	 */
+	public int getStrings()
+	{
+		return strings;
+	}
+
+	/**
+	 * @return - The number of images in the last frame.
+	 */
+	public int getImages()
+	{
+		return images;
+	}
+
+	/**
+	 * @return - The number of filled and outlined polygons in the last frame.
+	 */
+	public int getPolygons()
+	{
+		return polygons;
+	}
+
+	/**
+	 * @return - The number of draw calls (everything except colour and font changes) in the last frame.
+	 */
+	public int getDrawCalls()
+	{
+		return drawCalls;
+	}
+
+	/**
+	 * @return - The number of frames drawn since the backend was created.
+	 */
+	public int getFrames()
+	{
+		return frames;
+	}
+}
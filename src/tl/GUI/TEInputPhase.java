@@ -0,0 +1,12 @@
+package tl.GUI;
+
+/**
+ * The phase of a {@link TGUIInput} as it is routed through a TGUI.<br>
+ * CAPTURE runs from the topmost parent down to the target, TARGET runs the target's own input function, and BUBBLE runs
+ * from the target back up to the topmost parent.
+ * @since 2.3
+ */
+public enum TEInputPhase
+{
+	CAPTURE, TARGET, BUBBLE
+}
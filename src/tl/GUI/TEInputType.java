@@ -0,0 +1,10 @@
+package tl.GUI;
+
+/**
+ * The kind of input event described by a {@link TGUIInput}.
+ * @since 2.3
+ */
+public enum TEInputType
+{
+	MOUSE_PRESSED, MOUSE_RELEASED, MOUSE_WHEEL_MOVED, KEY_PRESSED, KEY_RELEASED
+}
@@ -0,0 +1,364 @@
+package tl.GUI;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.newdawn.slick.Font;
+
+/**
+ * TFontMetrics measures text in a single Font without walking the font for every call.<br>
+ * The advance of each character is asked for once and kept in a table, 256 characters to a page, so the width of any
+ * range of a CharSequence or a char array is a sum over the table and doesn't create any Strings. If the font kerns
+ * pairs of characters, the kerning between each pair is also asked for once and added to the sum.<br>
+ * Whole Strings, which are what most components centre, are measured by the font itself and kept in a small cache, so a
+ * component drawing the same text every frame only measures it once.<br>
+ * Range widths are built from single character advances, so for fonts whose widths aren't simply the sum of their
+ * characters they can be a pixel away from what the font itself reports.<br>
+ * The shared metrics only hold their font weakly, so once nothing else uses a font, the font and its metrics can both be
+ * garbage collected.<br>
+ * TFontMetrics isn't thread safe, and should only be used from the thread that updates the GUI.
+ * @since 2.3
+ * @see TGUIManager#getFontMetrics()
+ */
+public class TFontMetrics
+{
+	/**
+	 * The number of whole Strings whose width and height are cached. Must be a power of 2.
+	 */
+	public static final int STRING_CACHE_SIZE = 256;
+	/**
+	 * The pairs measured to find out whether or not a font kerns.
+	 */
+	private static final String KERNING_PAIRS[] = { "AV", "AW", "AY", "Av", "LT", "LY", "P.", "Ta", "Te", "To", "VA", "Va", "WA", "Yo", "y." };
+	private static final short UNKNOWN = Short.MIN_VALUE;
+	private static final Map<Font, TFontMetrics> shared = new WeakHashMap<Font, TFontMetrics>();
+	private static TFontMetrics last;
+
+	/**
+	 * Weak, as the metrics are the values of the shared map, which would otherwise keep every font measured alive.
+	 */
+	private final WeakReference<Font> font;
+	private final int lineHeight;
+	private final int pages[][];
+	private final boolean kerned;
+	/**
+	 * The kerning between every pair of characters below 256, only made if the font kerns.
+	 */
+	private short kerning[];
+	private Map<Integer, Integer> wideKerning;
+	private final String strings[];
+	private final int stringWidths[];
+	private final int stringHeights[];
+	private long hits;
+	private long misses;
+
+	/**
+	 * TFontMetrics' constructor. Prefer {@link #get(Font)}, which shares a single instance between everyone measuring
+	 * the same font.
+	 * @param font - The font to measure.
+	 * @throws TGUIException - If the font is NULL.
+	 */
+	public TFontMetrics(Font font) throws TGUIException
+	{
+		if (font == null)
+			throw new TGUIException("font is NULL!");
+		this.font = new WeakReference<Font>(font);
+		lineHeight = font.getLineHeight();
+		pages = new int[256][];
+		strings = new String[STRING_CACHE_SIZE];
+		stringWidths = new int[STRING_CACHE_SIZE];
+		stringHeights = new int[STRING_CACHE_SIZE];
+		boolean found = false;
+		for (String pair : KERNING_PAIRS)
+		{
+			if (font.getWidth(pair) != getAdvance(pair.charAt(0)) + getAdvance(pair.charAt(1)))
+			{
+				found = true;
+				break;
+			}
+		}
+		kerned = found;
+	}
+
+	/**
+	 * @param font - The font to measure.
+	 * @return - The metrics for the font, shared by everyone measuring it.
+	 * @throws TGUIException - If the font is NULL.
+	 */
+	public static TFontMetrics get(Font font) throws TGUIException
+	{
+		TFontMetrics metrics = last;
+		if (metrics != null && metrics.font.get() == font)
+			return metrics;
+		if (font == null)
+			throw new TGUIException("font is NULL!");
+		synchronized (shared)
+		{
+			metrics = shared.get(font);
+			if (metrics == null)
+			{
+				metrics = new TFontMetrics(font);
+				shared.put(font, metrics);
+			}
+		}
+		last = metrics;
+		return metrics;
+	}
+
+	/**
+	 * @return - The font measured by these metrics.
+	 * @throws TGUIException - If the font has been garbage collected.
+	 */
+	public Font getFont() throws TGUIException
+	{
+		Font font = this.font.get();
+		if (font == null)
+			throw new TGUIException("font has been garbage collected!");
+		return font;
+	}
+
+	/**
+	 * @return - The height in pixels of a line of text.
+	 */
+	public int getLineHeight()
+	{
+		return lineHeight;
+	}
+
+	/**
+	 * @return - True if the font kerns pairs of characters.
+	 */
+	public boolean isKerned()
+	{
+		return kerned;
+	}
+
+	/**
+	 * @param c - The character.
+	 * @return - The width in pixels of the character on its own.
+	 */
+	public int getAdvance(char c)
+	{
+		int page[] = pages[c >>> 8];
+		if (page == null)
+		{
+			page = new int[256];
+			Arrays.fill(page, -1);
+			pages[c >>> 8] = page;
+		}
+		int advance = page[c & 255];
+		if (advance < 0)
+		{
+			advance = getFont().getWidth(String.valueOf(c));
+			page[c & 255] = advance;
+		}
+		return advance;
+	}
+
+	/**
+	 * @param first - The character on the left.
+	 * @param second - The character on the right.
+	 * @return - The number of pixels the font moves the second character by when it follows the first, or 0 if the
+	 * font doesn't kern.
+	 */
+	public int getKerning(char first, char second)
+	{
+		if (!kerned)
+			return 0;
+		if (first < 256 && second < 256)
+		{
+			if (kerning == null)
+			{
+				kerning = new short[256 * 256];
+				Arrays.fill(kerning, UNKNOWN);
+			}
+			int index = (first << 8) | second;
+			if (kerning[index] == UNKNOWN)
+				kerning[index] = (short)measureKerning(first, second);
+			return kerning[index];
+		}
+		if (wideKerning == null)
+			wideKerning = new HashMap<Integer, Integer>();
+		Integer key = (first << 16) | second;
+		Integer value = wideKerning.get(key);
+		if (value == null)
+		{
+			value = measureKerning(first, second);
+			wideKerning.put(key, value);
+		}
+		return value;
+	}
+
+	private int measureKerning(char first, char second)
+	{
+		return getFont().getWidth(new String(new char[] { first, second })) - getAdvance(first) - getAdvance(second);
+	}
+
+	/**
+	 * Measures a whole String, through the cache.
+	 * @param text - The text to measure.
+	 * @return - The width in pixels of the text, as reported by the font.
+	 */
+	public int getWidth(String text)
+	{
+		return stringWidths[lookup(text)];
+	}
+
+	/**
+	 * Measures the height of a whole String, through the cache.
+	 * @param text - The text to measure.
+	 * @return - The height in pixels of the text, as reported by the font.
+	 */
+	public int getHeight(String text)
+	{
+		return stringHeights[lookup(text)];
+	}
+
+	/**
+	 * Finds the cache slot holding a String, measuring the String into it if it isn't there.
+	 */
+	private int lookup(String text)
+	{
+		int index = text.hashCode() & (STRING_CACHE_SIZE - 1);
+		String cached = strings[index];
+		if (cached == text || text.equals(cached))
+		{
+			++hits;
+			return index;
+		}
+		++misses;
+		strings[index] = text;
+		Font font = getFont();
+		stringWidths[index] = font.getWidth(text);
+		stringHeights[index] = font.getHeight(text);
+		return index;
+	}
+
+	/**
+	 * Measures part of a CharSequence from the advance table, without creating any Strings.
+	 * @param text - The text to measure.
+	 * @param start - The index of the first character to measure.
+	 * @param end - The index after the last character to measure.
+	 * @return - The width in pixels of the characters from start to end.
+	 * @throws TGUIException - If the range is out of bounds.
+	 */
+	public int getWidth(CharSequence text, int start, int end) throws TGUIException
+	{
+		check(start, end, text.length());
+		int width = 0;
+		char previous = 0;
+		for (int i = start; i < end; ++i)
+		{
+			char c = text.charAt(i);
+			width += getAdvance(c);
+			if (kerned && i > start)
+				width += getKerning(previous, c);
+			previous = c;
+		}
+		return width;
+	}
+
+	/**
+	 * Measures part of a char array from the advance table.
+	 * @param text - The characters to measure.
+	 * @param start - The index of the first character to measure.
+	 * @param end - The index after the last character to measure.
+	 * @return - The width in pixels of the characters from start to end.
+	 * @throws TGUIException - If the range is out of bounds.
+	 */
+	public int getWidth(char text[], int start, int end) throws TGUIException
+	{
+		check(start, end, text.length);
+		int width = 0;
+		for (int i = start; i < end; ++i)
+		{
+			width += getAdvance(text[i]);
+			if (kerned && i > start)
+				width += getKerning(text[i - 1], text[i]);
+		}
+		return width;
+	}
+
+	/**
+	 * Fills an array with the running width of part of a CharSequence, so that the width of any range within it is the
+	 * difference between two entries.<br>
+	 * E.g. after the call, widths[0] is 0 and widths[k] is the width of the first k characters from start.
+	 * @param text - The text to measure.
+	 * @param start - The index of the first character to measure.
+	 * @param end - The index after the last character to measure.
+	 * @param widths - The array to fill. Must hold at least end - start + 1 entries.
+	 * @return - The width in pixels of the characters from start to end.
+	 * @throws TGUIException - If the range is out of bounds, or the array is too small.
+	 */
+	public int fillPrefixWidths(CharSequence text, int start, int end, int widths[]) throws TGUIException
+	{
+		check(start, end, text.length());
+		if (widths.length < end - start + 1)
+			throw new TGUIException("widths [" + widths.length + "] must hold at least " + (end - start + 1) + " entries.");
+		int width = 0;
+		char previous = 0;
+		widths[0] = 0;
+		for (int i = start; i < end; ++i)
+		{
+			char c = text.charAt(i);
+			width += getAdvance(c);
+			if (kerned && i > start)
+				width += getKerning(previous, c);
+			previous = c;
+			widths[i - start + 1] = width;
+		}
+		return width;
+	}
+
+	/**
+	 * Fills an array with the running width of part of a char array.
+	 * @param text - The characters to measure.
+	 * @param start - The index of the first character to measure.
+	 * @param end - The index after the last character to measure.
+	 * @param widths - The array to fill. Must hold at least end - start + 1 entries.
+	 * @return - The width in pixels of the characters from start to end.
+	 * @throws TGUIException - If the range is out of bounds, or the array is too small.
+	 * @see #fillPrefixWidths(CharSequence, int, int, int[])
+	 */
+	public int fillPrefixWidths(char text[], int start, int end, int widths[]) throws TGUIException
+	{
+		check(start, end, text.length);
+		if (widths.length < end - start + 1)
+			throw new TGUIException("widths [" + widths.length + "] must hold at least " + (end - start + 1) + " entries.");
+		int width = 0;
+		widths[0] = 0;
+		for (int i = start; i < end; ++i)
+		{
+			width += getAdvance(text[i]);
+			if (kerned && i > start)
+				width += getKerning(text[i - 1], text[i]);
+			widths[i - start + 1] = width;
+		}
+		return width;
+	}
+
+	/**
+	 * @return - The number of times a whole String was found in the cache.
+	 */
+	public long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * @return - The number of times a whole String had to be measured by the font.
+	 */
+	public long getMisses()
+	{
+		return misses;
+	}
+
+	private static void check(int start, int end, int length) throws TGUIException
+	{
+		if (start < 0 || end > length || start > end)
+			throw new TGUIException("range [" + start + ", " + end + "] out of bounds! [" + length + "]");
+	}
+}
@@ -1,52 +1,258 @@
 package tl.GUI;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.newdawn.slick.*;
 
+import tl.Util.TCursor;
+
 public class TGUI implements TIGUIInterface
 {
+	/**
+	 * The controls of the TGUI, sorted from lowest priority to highest. Controls with the same priority are kept in the 
+	 * order they were added.
+	 */
 	public List<TGUIComponent> controls;
+	/**
+	 * Resolves the topmost component under the cursor once per frame.
+	 * @see #getPicker()
+	 */
+	final TGUIPicker picker;
+	/**
+	 * The backend the GUI is drawn through, or null to draw straight onto the Graphics context.
+	 * @see #setRenderBackend(TIRenderBackend)
+	 */
+	private TIRenderBackend renderBackend;
+	/**
+	 * Records a frame of the GUI for the render backend.
+	 */
+	private TRenderCommandBuffer renderBuffer;
+	/**
+	 * Keeps track of the component that keyboard input is routed to, and the tab order.
+	 * @see #getFocusManager()
+	 */
+	final TGUIFocusManager focusManager;
+	/**
+	 * Keeps the geometry of every component in parallel arrays, or null if it hasn't been enabled.
+	 * @see #setGeometryTable(boolean)
+	 */
+	TGUIGeometryTable geometry;
+	/**
+	 * Changes posted from other threads, applied at the start of every frame.
+	 * @see #post(TGUIMutationEvent)
+	 */
+	private final TGUIMutationQueue mutations = new TGUIMutationQueue();
+	/**
+	 * Records how long each component takes, while it is turned on.
+	 * @see #getProfiler()
+	 */
+	private final TGUIProfiler profiler = new TGUIProfiler();
+	/**
+	 * The profiler while profiling is on, or null. Only changed at the start of a frame, so that components only have 
+	 * to check it against null.
+	 */
+	TGUIProfiler activeProfiler;
+	/**
+	 * The component each mouse button was pressed on, so that the release is also sent to it.
+	 */
+	private TGUIComponent pressed[] = new TGUIComponent[3];
+	/**
+	 * The component each keyboard button was pressed on, so that the release is also sent to it.
+	 */
+	private final TGUIComponent keyTargets[] = new TGUIComponent[256];
+	/**
+	 * Repeats the key held down on the focused component.
+	 * @see #getKeyRepeat()
+	 */
+	private final TGUIKeyRepeat keyRepeat;
+	/**
+	 * The top level layouts validated at the start of every frame.
+	 * @see #addLayout(TGUILayout)
+	 */
+	private final ArrayList<TGUILayout> layouts = new ArrayList<TGUILayout>();
 	
 	private TGUI()
 	{
-		controls = new LinkedList<TGUIComponent>();
+		controls = new ArrayList<TGUIComponent>();
+		picker = new TGUIPicker(this);
+		focusManager = new TGUIFocusManager(this);
+		keyRepeat = new TGUIKeyRepeat(this);
 	}
 	
 	public TGUI(TGUIComponent ... components)
 	{
 		this();
-		for (TGUIComponent component : components)
-			addControl(component);
+		addControls(components);
 	}
 
+	/**
+	 * Adds a control after every control with a lower or equal priority, found with a binary search.
+	 * @param component - The control to add.
+	 */
 	public void addControl(TGUIComponent component)
 	{
-		Iterator<TGUIComponent> itr = controls.iterator();
-		for (int i = 0; itr.hasNext(); ++i)
+		component.setGUI(this);
+		picker.invalidate();
+		focusManager.invalidate();
+		int low = 0;
+		int high = controls.size();
+		while (low < high)
 		{
-			if (component.compareTo(itr.next()) <= 0)
-			{
-				controls.add(i, component);
-				return;
-			}
+			int mid = (low + high) >>> 1;
+			if (component.compareTo(controls.get(mid)) >= 0)
+				low = mid + 1;
+			else
+				high = mid;
 		}
-		controls.add(component);
+		controls.add(low, component);
+		if (geometry != null)
+			geometry.invalidate();
+	}
+	
+	/**
+	 * Adds a number of controls at once, sorting the controls a single time instead of once per control.
+	 * @param components - The controls to add.
+	 */
+	public void addControls(TGUIComponent ... components)
+	{
+		addControls(Arrays.asList(components));
+	}
+	
+	/**
+	 * Adds a number of controls at once, sorting the controls a single time instead of once per control.
+	 * @param components - The controls to add.
+	 */
+	public void addControls(Collection<? extends TGUIComponent> components)
+	{
+		if (components.isEmpty())
+			return;
+		for (TGUIComponent component : components)
+			component.setGUI(this);
+		controls.addAll(components);
+		Collections.sort(controls); // stable, so equal priorities stay in the order they were added
+		picker.invalidate();
+		focusManager.invalidate();
+		if (geometry != null)
+			geometry.invalidate();
+	}
+	
+	/**
+	 * @param index - The index of the control.
+	 * @return - The control at the index, in order of priority.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public TGUIComponent getControl(int index) throws TGUIException
+	{
+		if (index < 0 || index >= controls.size())
+			throw new TGUIException("index " + index + " out of bounds! [" + controls.size() + "]");
+		return controls.get(index);
+	}
+	
+	public int controlCount()
+	{
+		return controls.size();
 	}
 
 	public void removeControl(int index) throws TGUIException
 	{
 		if (index < 0 || index >= controls.size())
 			throw new TGUIException("index " + index + " out of bounds! [" + controls.size() + "]");
-		controls.remove(index);
+		controls.remove(index).setGUI(null);
+		picker.invalidate();
+		if (geometry != null)
+			geometry.invalidate();
 	}
 	
 	public void removeControl(TGUIComponent component) throws TGUIException
 	{
-		if (!controls.remove(component))
+		int index = indexOf(component);
+		if (index == -1)
 			throw new TGUIException("index " + component.ID + " does not exist!");
+		controls.remove(index);
+		component.setGUI(null);
+		picker.invalidate();
+		if (geometry != null)
+			geometry.invalidate();
+	}
+	
+	/**
+	 * Finds a control by searching for the first control with the same priority, then checking the controls with that 
+	 * priority.
+	 * @param component - The control to find.
+	 * @return - The index of the control, or -1 if it isn't a control of this TGUI.
+	 */
+	public int indexOf(TGUIComponent component)
+	{
+		int low = 0;
+		int high = controls.size();
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (component.compareTo(controls.get(mid)) > 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		for (int i = low; i < controls.size() && component.compareTo(controls.get(i)) == 0; ++i)
+			if (controls.get(i) == component)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * @return - The picker used to find the topmost component under the cursor.
+	 */
+	public TGUIPicker getPicker()
+	{
+		return picker;
+	}
+	
+	/**
+	 * Sets the backend the GUI is drawn through. While a backend is set, {@link #update(Graphics)} records the frame 
+	 * into a command buffer and replays it through the backend, and ignores its Graphics context.<br>
+	 * Cached components are drawn from their cache image, which still needs a GL context.
+	 * @param backend - The backend to draw through, or null to draw straight onto the Graphics context passed to update.
+	 * @see #render(TIRenderBackend)
+	 */
+	public void setRenderBackend(TIRenderBackend backend)
+	{
+		renderBackend = backend;
+	}
+	
+	/**
+	 * @return - The backend the GUI is drawn through, or null if it is drawn straight onto a Graphics context.
+	 */
+	public TIRenderBackend getRenderBackend()
+	{
+		return renderBackend;
+	}
+	
+	/**
+	 * Updates every control for a single frame, recording what they draw, and replays the recording through a backend.
+	 * @param backend - The backend to draw through.
+	 * @return - The command buffer holding the recorded frame, valid until the next call.
+	 */
+	public TRenderCommandBuffer render(TIRenderBackend backend)
+	{
+		if (renderBuffer == null)
+			renderBuffer = new TRenderCommandBuffer();
+		renderBuffer.reset();
+		beginProfile();
+		applyMutations();
+		validateLayouts();
+		picker.resolve(TCursor.getX(), TCursor.getY());
+		keyRepeat.update(System.nanoTime());
+		for (TGUIComponent itr : controls)
+			itr.updateFrame(renderBuffer);
+		backend.begin();
+		renderBuffer.replay(backend);
+		backend.end();
+		endProfile();
+		return renderBuffer;
 	}
 	
 	public void setVisibility(boolean visible)
@@ -69,37 +275,353 @@ public class TGUI implements TIGUIInterface
 
 	public void update(Graphics g)
 	{
+		if (renderBackend != null)
+		{
+			render(renderBackend);
+			return;
+		}
+		beginProfile();
+		applyMutations();
+		validateLayouts();
+		picker.resolve(TCursor.getX(), TCursor.getY());
+		keyRepeat.update(System.nanoTime());
 		for (TGUIComponent itr : controls)
-			itr.update(g);
+			itr.updateFrame(g);
+		endProfile();
+	}
+	
+	/**
+	 * Starts or stops profiling at the start of a frame, following {@link TGUIProfiler#isEnabled()}.
+	 */
+	private void beginProfile()
+	{
+		if (!profiler.isEnabled())
+		{
+			activeProfiler = null;
+			return;
+		}
+		if (activeProfiler == null)
+		{
+			profiler.restart();
+			activeProfiler = profiler;
+		}
+		profiler.beginFrame();
+	}
+	
+	private void endProfile()
+	{
+		if (activeProfiler != null)
+			activeProfiler.endFrame();
+	}
+	
+	/**
+	 * @return - The profiler, which is off until it is turned on with {@link TGUIProfiler#setEnabled(boolean)}.
+	 */
+	public TGUIProfiler getProfiler()
+	{
+		return profiler;
+	}
+
+	/**
+	 * Queues a change to the component tree, to be made at the start of the next frame on the thread that updates the 
+	 * TGUI. Can be called from any thread without locking.
+	 * @param mutation - The change to make.
+	 * @throws TGUIException - If the mutation is null.
+	 * @see TGUIMutationQueue
+	 */
+	public void post(TGUIMutationEvent mutation) throws TGUIException
+	{
+		mutations.post(mutation);
+	}
+	
+	/**
+	 * Creates a batch of changes to the component tree, which are all made in the same frame once it is committed. 
+	 * Can be called from any thread.
+	 * @return - The new batch.
+	 */
+	public TGUIMutationBatch createBatch()
+	{
+		return new TGUIMutationBatch(mutations);
+	}
+	
+	/**
+	 * Makes every change that has been posted or committed so far. Called at the start of every frame, and must only be 
+	 * called from the thread that updates the TGUI.
+	 * @return - The number of changes made.
+	 */
+	public int applyMutations()
+	{
+		return mutations.drain(this);
+	}
+	
+	/**
+	 * Turns the geometry table on or off. While it is on, the picker finds the component under the cursor by scanning 
+	 * the table instead of using its grid, which suits TGUIs with thousands of components.
+	 * @param enabled - True to keep the geometry of every component in a table.
+	 * @see #getGeometryTable()
+	 */
+	public void setGeometryTable(boolean enabled)
+	{
+		if (enabled == (geometry != null))
+			return;
+		if (enabled)
+			geometry = new TGUIGeometryTable(this);
+		else
+		{
+			geometry.clear();
+			geometry = null;
+		}
+		picker.invalidate();
+	}
+	
+	/**
+	 * @return - The geometry table, or null if it is turned off.
+	 * @see #setGeometryTable(boolean)
+	 */
+	public TGUIGeometryTable getGeometryTable()
+	{
+		return geometry;
+	}
+	
+	/**
+	 * Adds a top level layout to be validated by the TGUI once per frame, before its controls are updated. Changes made to 
+	 * the layout, its components and its nested layouts in between frames are then laid out together.
+	 * @param layout - The layout to add.
+	 * @throws TGUIException - If the layout is inside another layout, which validates it instead.
+	 * @see TGUILayout#invalidate()
+	 */
+	public void addLayout(TGUILayout layout) throws TGUIException
+	{
+		if (layout.layout != null)
+			throw new TGUIException("layout is inside another layout!");
+		if (layout.gui == this)
+			return;
+		if (layout.gui != null)
+			layout.gui.removeLayout(layout);
+		layout.gui = this;
+		layouts.add(layout);
+	}
+	
+	/**
+	 * Stops validating a layout once per frame.
+	 * @param layout - The layout to remove.
+	 */
+	public void removeLayout(TGUILayout layout)
+	{
+		if (layouts.remove(layout))
+			layout.gui = null;
+	}
+	
+	/**
+	 * Measures and arranges every layout that has been invalidated, or whose parent has been resized, since the last call. 
+	 * Called at the start of every frame.
+	 */
+	public void validateLayouts()
+	{
+		for (int i = 0; i < layouts.size(); ++i)
+			layouts.get(i).validate();
+	}
+	
+	/**
+	 * @return - The focus manager, which keeps track of the focused component and the tab order.
+	 */
+	public TGUIFocusManager getFocusManager()
+	{
+		return focusManager;
+	}
+	
+	/**
+	 * @return - The key repeat, which presses the key held down on the focused component again on a timer.
+	 */
+	public TGUIKeyRepeat getKeyRepeat()
+	{
+		return keyRepeat;
+	}
+	
+	/**
+	 * @return - The component that keyboard input is routed to, or null if there is none.
+	 */
+	public TGUIComponent getFocus()
+	{
+		return focusManager.getFocus();
+	}
+	
+	/**
+	 * Sets the component that keyboard input is routed to.<br>
+	 * The focus is also set by pressing a mouse button, to the component under the cursor that {@link 
+	 * TGUIComponent#isFocusable() is focusable} (or its closest focusable parent), or to null. Tab and Shift-Tab move the 
+	 * focus through the tab order.
+	 * @param component - The component to focus, or null to clear the focus.
+	 * @throws TGUIException - If the component isn't part of this TGUI.
+	 * @see TGUIFocusManager
+	 */
+	public void setFocus(TGUIComponent component) throws TGUIException
+	{
+		focusManager.setFocus(component);
+	}
+	
+	/**
+	 * Clears every reference to a component that is being removed from this TGUI.
+	 */
+	void forget(TGUIComponent component)
+	{
+		focusManager.forget(component);
+		keyRepeat.forget(component);
+		picker.invalidate();
+		if (geometry != null)
+			geometry.invalidate();
+		for (int i = 0; i < pressed.length; ++i)
+			if (pressed[i] == component)
+				pressed[i] = null;
+		for (int i = 0; i < keyTargets.length; ++i)
+			if (keyTargets[i] == component)
+				keyTargets[i] = null;
+	}
+	
+	/**
+	 * Routes input along the path from the topmost parent of its target to the target, and back.
+	 * @see TGUIInput
+	 */
+	private void dispatch(TGUIInput input)
+	{
+		TGUIComponent target = input.getTarget();
+		if (target == null)
+			return;
+		int depth = 0;
+		for (TGUIComponent c = target; c != null; c = c.parent)
+			++depth;
+		TGUIComponent path[] = new TGUIComponent[depth];
+		int i = 0;
+		for (TGUIComponent c = target; c != null; c = c.parent)
+			path[i++] = c;
+		
+		for (i = depth - 1; i >= 0 && !input.isPropagationStopped(); --i)
+			path[i].fireInput(input, true);
+		if (!input.isPropagationStopped())
+		{
+			input.setPhase(TEInputPhase.TARGET);
+			deliver(input, target);
+		}
+		input.setPhase(TEInputPhase.BUBBLE);
+		for (i = 0; i < depth && !input.isPropagationStopped(); ++i)
+			path[i].fireInput(input, false);
+	}
+	
+	private void deliver(TGUIInput input, TGUIComponent component)
+	{
+		component.validateTransform();
+		TGUIProfiler profiler = activeProfiler;
+		long start = profiler != null ? System.nanoTime() : 0;
+		switch (input.getType())
+		{
+		case MOUSE_PRESSED:
+			component.mousePressed(input.getButton(), input.getX(), input.getY());
+			break;
+		case MOUSE_RELEASED:
+			component.mouseReleased(input.getButton(), input.getX(), input.getY());
+			break;
+		case MOUSE_WHEEL_MOVED:
+			component.mouseWheelMoved(input.getChange());
+			break;
+		case KEY_PRESSED:
+			component.keyPressed(input.getKey(), input.getChar());
+			break;
+		case KEY_RELEASED:
+			component.keyReleased(input.getKey(), input.getChar());
+			break;
+		}
+		if (profiler != null)
+			profiler.input(component, System.nanoTime() - start);
 	}
 
 	public void mousePressed(int button, int x, int y) 
 	{
-		for (TGUIComponent itr : controls)
-			itr.mousePressed(button, x, y);
+		picker.resolve(x, y);
+		TGUIComponent target = picker.getHovered();
+		TGUIComponent focusable = target;
+		while (focusable != null && !focusable.isFocusable())
+			focusable = focusable.parent;
+		setFocus(focusable);
+		if (button >= 0)
+		{
+			if (button >= pressed.length)
+				pressed = Arrays.copyOf(pressed, button + 1);
+			pressed[button] = target;
+		}
+		dispatch(new TGUIInput(TEInputType.MOUSE_PRESSED, target, button, x, y, 0, 0, '\0'));
 	}
 
+	/**
+	 * Routes the release to the component under the cursor, then sends it straight to the component the button was 
+	 * pressed on if that is a different component, so it can reset its pressed state.
+	 */
 	public void mouseReleased(int button, int x, int y) 
 	{
-		for (TGUIComponent itr : controls)
-			itr.mouseReleased(button, x, y);
+		picker.resolve(x, y);
+		TGUIComponent target = picker.getHovered();
+		dispatch(new TGUIInput(TEInputType.MOUSE_RELEASED, target, button, x, y, 0, 0, '\0'));
+		if (button >= 0 && button < pressed.length)
+		{
+			TGUIComponent origin = pressed[button];
+			pressed[button] = null;
+			if (origin != null && origin != target && origin.gui == this)
+			{
+				origin.validateTransform();
+				origin.mouseReleased(button, x, y);
+			}
+		}
 	}
 
 	public void mouseWheelMoved(int change)
 	{
-		for (TGUIComponent itr: controls)
-			itr.mouseWheelMoved(change);
+		dispatch(new TGUIInput(TEInputType.MOUSE_WHEEL_MOVED, picker.getHovered(), 0, 0, 0, change, 0, '\0'));
 	}
 
+	/**
+	 * Routes the key to the focused component. Unless the propagation is stopped, Tab then moves the focus to the next 
+	 * component in the tab order, or to the previous one while Shift is held down.
+	 */
 	public void keyPressed(int key, char c) 
 	{
-		for (TGUIComponent itr : controls)
-			itr.keyPressed(key, c);
+		TGUIComponent focus = focusManager.getFocus();
+		if (key >= 0 && key < keyTargets.length)
+			keyTargets[key] = focus;
+		keyRepeat.pressed(key, c, focus, System.nanoTime());
+		TGUIInput input = new TGUIInput(TEInputType.KEY_PRESSED, focus, 0, 0, 0, 0, key, c);
+		dispatch(input);
+		if (key == Input.KEY_TAB && !input.isPropagationStopped())
+		{
+			Input keys = TGUIManager.guiInput;
+			if (keys != null && (keys.isKeyDown(Input.KEY_LSHIFT) || keys.isKeyDown(Input.KEY_RSHIFT)))
+				focusManager.focusPrevious();
+			else
+				focusManager.focusNext();
+		}
 	}
 
+	/**
+	 * Routes the release to the component the key was pressed on, or to the focused component if it wasn't pressed on one.
+	 */
 	public void keyReleased(int key, char c)
 	{
-		for (TGUIComponent itr : controls)
-			itr.keyReleased(key, c);
+		TGUIComponent target = focusManager.getFocus();
+		if (key >= 0 && key < keyTargets.length && keyTargets[key] != null)
+		{
+			target = keyTargets[key];
+			keyTargets[key] = null;
+		}
+		keyRepeat.released(key);
+		dispatch(new TGUIInput(TEInputType.KEY_RELEASED, target, 0, 0, 0, 0, key, c));
+	}
+	
+	/**
+	 * Routes a repeat of a key that is being held down to the component it was pressed on.
+	 * @see TGUIKeyRepeat
+	 */
+	void repeatKey(int key, char c, TGUIComponent target)
+	{
+		TGUIInput input = new TGUIInput(TEInputType.KEY_PRESSED, target, 0, 0, 0, 0, key, c);
+		input.setRepeat(true);
+		dispatch(input);
 	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package tl.GUI;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.newdawn.slick.Color;
 import org.newdawn.slick.Graphics;
@@ -24,7 +25,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	//protected Graphics canvas; // canvas used to draw the default textures onto the graphic
 	protected TGUIComponent parent;
 	protected ArrayList<TGUIComponent> children;
-	protected int compcounter; // OBSOLETE?
+	protected int compcounter; // the ID given to the next child
 	protected int priority = 0; // controls are drawn from lowest priority to highest [OBSOLETE?]
 	protected boolean changed = false;
 	public final Color background = new Color(TGUIManager.GUI_MAIN);
@@ -33,7 +34,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	
 	/* PROPERTIES_START */
 	/**
-	 * TGUIComponent ID relative to its parent (relative to the TGUIManager if parent is null).
+	 * TGUIComponent ID relative to its parent (relative to the TGUIManager if parent is null). IDs aren't reused.
 	 * @see #getID()
 	 */
 	protected int ID;
@@ -62,7 +63,83 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	 * @see ComponentType
 	 */
 	protected ComponentType type;
+	/**
+	 * The TGUI that this component, or its topmost parent, has been added to. Null if it isn't part of a TGUI.
+	 * @see #getGUI()
+	 * @see TGUI#addControl(TGUIComponent)
+	 */
+	protected TGUI gui;
+	/**
+	 * Whether or not the component and its children are drawn from an offscreen image (true if cached).
+	 * @see #isCached()
+	 * @see #setCached(boolean)
+	 */
+	protected boolean cached;
 	/* PROPERTIES_END */
+	
+	/**
+	 * Collects the components that draw onto the cache image while cached, in the order they draw.
+	 */
+	private DrawList cacheList;
+	/**
+	 * The offscreen image that the component and its children are drawn onto while cached.
+	 */
+	private Image cacheImage;
+	/**
+	 * Whether or not the cache image is out of date, and has to be drawn again the next time the component is updated.
+	 * @see #invalidateCache()
+	 */
+	private boolean cacheDirty = true;
+	/**
+	 * Bumped every time the position or parent of any component changes, so that up to date screen positions can be 
+	 * recognised without walking up to the topmost parent.
+	 * @see #validateTransform()
+	 */
+	private static int transformGeneration;
+	/**
+	 * Used to give every new screen position a unique stamp.
+	 */
+	private static long transformStamps;
+	/**
+	 * The transformGeneration that screenPos was last checked at.
+	 */
+	private int validGeneration = -1;
+	/**
+	 * Whether or not the position or parent of this component has changed since screenPos was worked out.
+	 */
+	private boolean transformDirty = true;
+	/**
+	 * The stamp of the current screenPos, changed every time it is worked out again.
+	 */
+	private long transformStamp;
+	/**
+	 * The stamp of the parent's screenPos when screenPos was worked out.
+	 */
+	private long parentStamp;
+	/**
+	 * The position of the component in its TGUI's tab order, or -1 if it isn't in one.
+	 * @see TGUIFocusManager
+	 */
+	int tabIndex = -1;
+	/**
+	 * The index of the component in its parent's children, or -1 if it has no parent.
+	 * @see #indexOfChild(TGUIComponent)
+	 */
+	int childIndex = -1;
+	/**
+	 * The row of the component in its TGUI's geometry table, or -1 if it doesn't have one.
+	 * @see TGUIGeometryTable
+	 */
+	int geometryIndex = -1;
+	/**
+	 * The frame that profileSlot belongs to.
+	 * @see TGUIProfiler
+	 */
+	long profileFrame;
+	/**
+	 * The component's slot in the frame being profiled.
+	 */
+	int profileSlot;
 
 	/**
 	 * An interface instance that is used to run a function upon detecting a mouse button being pressed down over a TGUIComponent.
@@ -82,6 +159,18 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	 * @see #onMouseOver(TGUIMouseOverEvent)
 	 */
 	protected TGUIMouseOverEvent mouseOver;
+	/**
+	 * An interface instance that is run for input routed through this component by its TGUI, before the target of the input.
+	 * @see TGUIInputEvent
+	 * @see #onInputCapture(TGUIInputEvent)
+	 */
+	protected TGUIInputEvent inputCapture;
+	/**
+	 * An interface instance that is run for input routed through this component by its TGUI, after the target of the input.
+	 * @see TGUIInputEvent
+	 * @see #onInputBubble(TGUIInputEvent)
+	 */
+	protected TGUIInputEvent inputBubble;
 
 	/**
 	 * ComponentType represents a type of TGUIComponent for easy comparison and removal of ambiguity.<br>
@@ -103,7 +192,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	 */
 	public static enum ComponentType
 	{
-		component, button, buttonToggle, container, label, labelExtended, listBox, listBoxGen, listBoxDrop, listBoxDropGen, slider, textBox
+		component, button, buttonToggle, container, label, labelExtended, listBox, listBoxGen, listBoxDrop, listBoxDropGen, slider, textBox, textArea
 	}
 	
 	public TGUIComponent()
@@ -134,11 +223,11 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	public TGUIComponent(TGUIComponent parent, float x, float y, int width, int height)
 	{
 		this(parent);
-		position = new TPoint(x, y);
-		screenPos = new TPoint(parent != null ? parent.getX() : 0, parent != null ? parent.getY() : 0);
-		screenPos = screenPos.add(position);
-		size = new TSize(width, height);
+		position.set(x, y);
+		markTransformDirty();
+		size.set(width, height);
 		changed = true;
+		invalidateHit();
 	}
 	
 	public TGUIComponent(TGUIComponent parent, float x, float y, boolean visible, int width, int height, float t)
@@ -149,13 +238,13 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		else
 			parent.addComponent(this);
 		position.set(x, y);
-		screenPos.set(parent != null ? parent.getX() : 0, parent != null ? parent.getY() : 0);
-		screenPos = screenPos.add(position);
+		markTransformDirty();
 		size.set(width, height);
 		enabled = parent != null ? parent.enabled : true;
 		this.visible = visible;
 		changed = true;
 		alpha = t;
+		invalidateHit();
 	}
 	
 	public int getID()
@@ -168,6 +257,42 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		return type;
 	}
 	
+	/**
+	 * @return - The TGUI that this component has been added to (directly or through its parent), or null if there is none.
+	 */
+	public TGUI getGUI()
+	{
+		return gui;
+	}
+	
+	/**
+	 * Sets the TGUI of this component and all of its children.
+	 * @param gui - The TGUI, or null when the component is removed from one.
+	 */
+	void setGUI(TGUI gui)
+	{
+		if (this.gui != null && this.gui != gui)
+			this.gui.forget(this);
+		this.gui = gui;
+		if (children != null)
+			for (TGUIComponent child : children)
+				child.setGUI(gui);
+	}
+	
+	/**
+	 * Tells the TGUI's picker that the screen bounds of this component (or of the component tree) have changed.
+	 * @see TGUIPicker#invalidate()
+	 */
+	protected void invalidateHit()
+	{
+		if (gui != null)
+		{
+			gui.picker.invalidate();
+			if (gui.geometry != null)
+				gui.geometry.update(this);
+		}
+	}
+	
 	protected void change()
 	{
 		background.a = alpha;
@@ -207,12 +332,12 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -225,11 +350,211 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	{
 		if (children != null)
 			for (TGUIComponent child : children)
-				child.update(g);
+				child.updateFrame(g);
+	}
+	
+	/**
+	 * Updates the component for a single frame. Called by the parent component or the TGUI instead of update(Graphics), 
+	 * so that the component can be drawn from its cache.
+	 * @param g - The graphics context to draw on.
+	 * @see #setCached(boolean)
+	 */
+	protected final void updateFrame(Graphics g)
+	{
+		validateTransform();
+		TGUIProfiler profiler = gui != null ? gui.activeProfiler : null;
+		if (profiler != null)
+			profiler.enter();
+		try
+		{
+			if (cached)
+				updateCached(g);
+			else
+				update(g);
+		}
+		finally
+		{
+			if (profiler != null)
+				profiler.exit(this);
+		}
+	}
+	
+	/**
+	 * Calls change(), timing it if the TGUI is being profiled. Called by update(Graphics) instead of change().<br>
+	 * As the component has changed, the cache images of the component and its cached parents are marked out of date.
+	 * @see TGUIProfiler
+	 */
+	protected final void pChange()
+	{
+		invalidateCache();
+		TGUIProfiler profiler = gui != null ? gui.activeProfiler : null;
+		if (profiler == null)
+		{
+			change();
+			return;
+		}
+		long start = System.nanoTime();
+		change();
+		profiler.change(this, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Calls draw(Graphics), timing it and counting what it draws if the TGUI is being profiled. Called by 
+	 * update(Graphics) instead of draw(Graphics).
+	 * @param g - The graphics context to draw on.
+	 * @throws SlickException
+	 * @see TGUIProfiler
+	 */
+	protected final void pDraw(Graphics g) throws SlickException
+	{
+		if (g instanceof DrawList)
+		{
+			((DrawList)g).add(this, false);
+			return;
+		}
+		TGUIProfiler profiler = gui != null ? gui.activeProfiler : null;
+		if (profiler == null)
+		{
+			draw(g);
+			return;
+		}
+		int before = g instanceof TRenderCommandBuffer ? ((TRenderCommandBuffer)g).size() : -1;
+		long start = System.nanoTime();
+		try
+		{
+			draw(g);
+		}
+		finally
+		{
+			profiler.draw(this, System.nanoTime() - start, g, before);
+		}
+	}
+	
+	/**
+	 * Runs update(Graphics) without drawing, collecting the components that would have drawn, and only draws them onto 
+	 * the cache image if it is out of date. The cache image is then drawn instead of the component and its children.<br>
+	 * A cached child is collected as its own cache image, so it is drawn onto this one without being drawn again.
+	 * @param g - The graphics context to draw the cache image on.
+	 */
+	private void updateCached(Graphics g)
+	{
+		if (cacheList == null)
+			cacheList = new DrawList();
+		cacheList.reset();
+		update(cacheList);
+		if (cacheList.count == 0)
+			return;
+		
+		try
+		{
+			int width = size.width + 1;
+			int height = size.height + 1;
+			if (cacheImage == null || cacheImage.getWidth() != width || cacheImage.getHeight() != height)
+			{
+				if (cacheImage != null)
+					cacheImage.destroy();
+				cacheImage = new Image(width, height);
+				cacheDirty = true;
+			}
+			if (cacheDirty)
+			{
+				Graphics canvas = cacheImage.getGraphics();
+				canvas.setBackground(TGUIManager.TRANSPARENT);
+				canvas.clear();
+				canvas.translate(-screenPos.x, -screenPos.y);
+				cacheList.draw(canvas);
+				canvas.resetTransform();
+				canvas.flush();
+				cacheDirty = false;
+			}
+			if (g instanceof DrawList)
+				((DrawList)g).add(this, true);
+			else
+				g.drawImage(cacheImage, screenPos.x, screenPos.y);
+		}
+		catch (SlickException e)
+		{
+			e.printStackTrace();
+			try
+			{
+				if (g instanceof DrawList)
+					((DrawList)g).addAll(cacheList);
+				else
+					cacheList.draw(g);
+			}
+			catch (SlickException e2)
+			{
+				e2.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * Turns the cached mode on or off (off by default).<br>
+	 * While cached, the component and its children are drawn onto an offscreen image, which is drawn each frame instead. 
+	 * The image is only drawn again once the component or one of its children has changed, been moved, resized, shown, 
+	 * hidden, enabled or disabled, or added or removed. They are still updated every frame without drawing, so events 
+	 * and input work as normal.<br>
+	 * Anything else that changes how they look (e.g. setting a colour directly, or turning on TGUIManager.debug) needs 
+	 * {@link #invalidateCache()} to be called. Anything drawn outside of the component's size will be cut off. Best used 
+	 * for panels that rarely change.
+	 * @param cached - True to turn the cached mode on.
+	 * @see #isCached()
+	 */
+	public void setCached(boolean cached)
+	{
+		this.cached = cached;
+		invalidateCache();
+		if (!cached)
+		{
+			cacheList = null;
+			if (cacheImage != null)
+			{
+				try
+				{
+					cacheImage.destroy();
+				}
+				catch (SlickException e)
+				{
+					e.printStackTrace();
+				}
+				cacheImage = null;
+			}
+		}
+	}
+	
+	/**
+	 * Marks the cache images of the component and of every cached parent above it as out of date, so that they are 
+	 * drawn again the next time they are updated.
+	 * @see #setCached(boolean)
+	 */
+	public void invalidateCache()
+	{
+		for (TGUIComponent component = this; component != null; component = component.parent)
+			if (component.cached)
+				component.cacheDirty = true;
+	}
+	
+	/**
+	 * @return - True if the component is drawn from an offscreen image.
+	 * @see #setCached(boolean)
+	 */
+	public boolean isCached()
+	{
+		return cached;
 	}
 
+	/**
+	 * Checks whether or not the cursor is over this component, and not over one of its children.<br>
+	 * If the component is part of a TGUI, the topmost component under the cursor is resolved once per frame by the 
+	 * TGUI's picker, and this only compares against the cached result.
+	 * @return - True if this is the topmost component under the cursor.
+	 * @see TGUIPicker
+	 */
 	public boolean mouseIsOver()
 	{
+		if (gui != null && gui.picker.isResolved())
+			return gui.picker.getHovered() == this;
 		if (children != null)
 		{
 			for (TGUIComponent child : children)
@@ -246,8 +571,21 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	 */
 	protected boolean mOver()
 	{
-		float x = TCursor.getX();
-		float y = TCursor.getY();
+		if (gui != null && gui.picker.isResolved())
+			return hitTest(gui.picker.getCursorX(), gui.picker.getCursorY());
+		return hitTest(TCursor.getX(), TCursor.getY());
+	}
+	
+	/**
+	 * Checks whether or not a position is over this component, ignoring its children.<br>
+	 * Components with a hit area that differs from their size should override this.
+	 * @param x - The x position on the screen.
+	 * @param y - The y position on the screen.
+	 * @return - True if the position is over the visible component.
+	 */
+	protected boolean hitTest(float x, float y)
+	{
+		validateTransform();
 		return x >= screenPos.x && x <= screenPos.x + size.width && y >= screenPos.y && y <= screenPos.y + size.height && isVisible();
 	}
 
@@ -268,37 +606,80 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	
 	public float getScreenX()
 	{
+		validateTransform();
 		return screenPos.x;
 	}
 	
 	public float getScreenY()
 	{
+		validateTransform();
 		return screenPos.y;
 	}
 	
 	public TPoint getScreenPosition()
 	{
+		validateTransform();
 		return new TPoint(screenPos.x, screenPos.y);
 	}
 
+	/**
+	 * Sets the position of the component relative to its parent. The screen positions of the component and its children 
+	 * are only worked out again when they are next read.
+	 * @param x - The x position relative to the parent.
+	 * @param y - The y position relative to the parent.
+	 * @see #validateTransform()
+	 */
 	public void setPosition(float x, float y)
 	{
 		position.set(x, y);
-		screenPos.set(parent != null ? parent.getX() : 0, parent != null ? parent.getY() : 0);
-		screenPos = screenPos.add(position);
-		if (children != null)
-			for (TGUIComponent child : children)
-				child.setPosition(child.getX(), child.getY());
+		markTransformDirty();
+		invalidateHit();
+		if (parent != null)
+			parent.invalidateCache();
 	}
 	
 	public void setPosition(TPoint position)
 	{
-		this.position.set(position);
-		screenPos.set(parent != null ? parent.getX() : 0, parent != null ? parent.getY() : 0);
-		screenPos = screenPos.add(position);
-		if (children != null)
-			for (TGUIComponent child : children)
-				child.setPosition(child.getPosition());
+		setPosition(position.x, position.y);
+	}
+	
+	/**
+	 * Marks the screen position of this component, and so of its children, as out of date.
+	 */
+	protected final void markTransformDirty()
+	{
+		transformDirty = true;
+		++transformGeneration;
+	}
+	
+	/**
+	 * Brings screenPos up to date, by first bringing the parent's up to date and then adding this component's position 
+	 * to it in place.<br>
+	 * Returns straight away if no position in any component has changed since the last call, otherwise the screen 
+	 * position is only worked out again if this component's position or its parent's screen position has changed. 
+	 * Called before the component is updated, hit tested or sent input, and before the screen position is returned.
+	 */
+	protected final void validateTransform()
+	{
+		if (validGeneration == transformGeneration)
+			return;
+		long parentStamp = 0;
+		if (parent != null)
+		{
+			parent.validateTransform();
+			parentStamp = parent.transformStamp;
+		}
+		if (transformDirty || parentStamp != this.parentStamp)
+		{
+			if (parent != null)
+				screenPos.set(parent.screenPos.x + position.x, parent.screenPos.y + position.y);
+			else
+				screenPos.set(position.x, position.y);
+			this.parentStamp = parentStamp;
+			transformStamp = ++transformStamps;
+			transformDirty = false;
+		}
+		validGeneration = transformGeneration;
 	}
 	
 	public int width()
@@ -316,6 +697,9 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		size.set(width, height);
 		graphic = TGUIManager.emptyImage;
 		changed = true;
+		invalidateHit();
+		invalidateLayout();
+		invalidateCache();
 	}
 	
 	public void setSize(TSize size)
@@ -323,6 +707,9 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		this.size.set(size);
 		graphic = TGUIManager.emptyImage;
 		changed = true;
+		invalidateHit();
+		invalidateLayout();
+		invalidateCache();
 	}
 
 	/*
@@ -344,6 +731,9 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	public void setVisible(boolean visible)
 	{
 		this.visible = visible;
+		invalidateCache();
+		if (gui != null && gui.geometry != null)
+			gui.geometry.update(this);
 		if (children != null)
 			for (TGUIComponent child : children)
 				child.setVisible(visible);
@@ -357,6 +747,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		if (graphic != null)
 			graphic.setAlpha(transparency);
 		changed = true;
+		invalidateCache();
 		if (children != null)
 			for (TGUIComponent child : children)
 				child.setTransparency(transparency);
@@ -370,6 +761,9 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	public void setEnabled(boolean enabled)
 	{
 		this.enabled = enabled;
+		invalidateCache();
+		if (gui != null && gui.geometry != null)
+			gui.geometry.update(this);
 		if (children != null)
 			for (TGUIComponent child : children)
 				child.setEnabled(enabled);
@@ -383,8 +777,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	protected void setProperties(TGUIComponent parent)
 	{
 		boolean notnull = parent != null;
-		screenPos.set(notnull ? parent.getX() : 0, notnull ? parent.getY() : 0);
-		screenPos = screenPos.add(position);
+		markTransformDirty();
 		visible = (notnull ? parent.visible : true);
 		enabled = (notnull ? parent.enabled : true);
 		if (graphic != null)
@@ -400,37 +793,66 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		return children.get(index);
 	}
 	
+	/**
+	 * Adds a child to the end of this component's children, taking it from its old parent if it has one.<br>
+	 * Does nothing if the child has already been added to this component. The child is given the next ID of this 
+	 * component, and IDs aren't reused after a child is removed.
+	 * @param child - The component to add.
+	 */
 	public synchronized void addComponent(TGUIComponent child)
 	{
 		if (child == null)
 			throw new TGUIException(type.toString() + "[" + ID + "]: child component is NULL!");
-		//if (child.parent != this)
-			//throw new TGUIException(type.toString() + "[" + ID + "]: child's[" + child.ID + "] parent[" + (parent == null ? "null" : parent.ID) + "] has not been set as this component!");
+		if (child.parent == this)
+			return;
 		if (children == null)
 			children = new ArrayList<TGUIComponent>();
-		if (!children.contains(child))
+		if (child.parent != null)
+			child.parent.detach(child);
+		child.parent = this;
+		child.setProperties(this);
+		child.setGUI(gui);
+		child.childIndex = children.size();
+		child.ID = compcounter++;
+		children.add(child);
+		invalidateHit();
+		invalidateCache();
+		if (gui != null)
 		{
-			if (child.parent != null && child.parent != this)
-				child.parent.children.remove(child);
-			child.parent = this;
-			child.setProperties(this);
-			children.add(child);
-			int id = 0;
-			for (TGUIComponent c : children)
-				c.ID = id++;
+			gui.focusManager.invalidate();
+			if (gui.geometry != null)
+				gui.geometry.invalidate();
 		}
 	}
 	
+	/**
+	 * Takes a child out of the children list, using the index stored on the child. Removing the last child is O(1), 
+	 * otherwise the children after it are shifted down and given their new index.
+	 * @param child - A child of this component.
+	 */
+	private void detach(TGUIComponent child)
+	{
+		int index = child.childIndex;
+		children.remove(index);
+		for (int i = index; i < children.size(); ++i)
+			children.get(i).childIndex = i;
+		child.childIndex = -1;
+		child.parent = null;
+		child.markTransformDirty();
+		invalidateCache();
+	}
+	
 	public synchronized void removeComponent(TGUIComponent child) throws TGUIException
 	{
 		if (children == null)
 			throw new TGUIException(type.toString() + "[" + ID + "]: component has no children!");
 		if (child == null)
 			throw new TGUIException(type.toString() + "[" + ID + "]: child component is NULL!");
-		else
-			child.parent = null;
-		children.remove(child);
-		child.setPosition(child.getX(), child.getY());
+		if (child.parent != this)
+			throw new TGUIException(type.toString() + "[" + ID + "]: component[" + child.ID + "] is not a child of this component!");
+		detach(child);
+		child.setGUI(null);
+		invalidateHit();
 	}
 	
 	public synchronized void removeComponent(int index) throws TGUIException
@@ -440,25 +862,38 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		if (index < 0 || index >= children.size())
 			throw new TGUIException(type.toString() + "[" + ID + "]: index " + index + " out of bounds! [" + children.size() + "]");
 		TGUIComponent child = children.get(index);
-		child.parent = null;
+		detach(child);
 		child.setProperties(null);
-		children.remove(index);
+		child.setGUI(null);
+		invalidateHit();
 	}
 	
 	public synchronized void clearChildren()
 	{
 		if (children != null)
 		{
-			while (!children.isEmpty())
+			for (TGUIComponent child : children)
 			{
-				TGUIComponent child = children.get(0);
 				child.parent = null;
+				child.childIndex = -1;
 				child.setProperties(null);
-				children.remove(0);
+				child.setGUI(null);
 			}
+			children.clear();
+			invalidateHit();
+			invalidateCache();
 		}
 	}
 	
+	/**
+	 * @param child - The component to find.
+	 * @return - The index of the child in this component's children, or -1 if it isn't a child of this component.
+	 */
+	public int indexOfChild(TGUIComponent child)
+	{
+		return child != null && child.parent == this ? child.childIndex : -1;
+	}
+	
 	public int childCount()
 	{
 		return children != null ? children.size() : 0;
@@ -478,9 +913,6 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 			setProperties(null);
 			return;
 		}
-		if (this.parent != null)
-			if (this.parent.children.contains(this))
-				this.parent.children.remove(this);
 		parent.addComponent(this);
 	}
 	
@@ -508,6 +940,73 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 		mouseRelease = function;
 	}
 
+	public void onInputCapture(TGUIInputEvent function)
+	{
+		inputCapture = function;
+	}
+	
+	public void onInputBubble(TGUIInputEvent function)
+	{
+		inputBubble = function;
+	}
+	
+	/**
+	 * Runs the capture or bubble listener of this component for input that is routed through it.
+	 * @param input - The input being routed.
+	 * @param capture - True for the capture phase, false for the bubble phase.
+	 */
+	void fireInput(TGUIInput input, boolean capture)
+	{
+		TGUIInputEvent function = capture ? inputCapture : inputBubble;
+		if (function != null && enabled)
+			function.execute(input, this);
+	}
+	
+	/**
+	 * Checks whether or not the component can take the keyboard focus, when it is clicked on or tabbed to. False by default.
+	 * @return - True if the component can be focused.
+	 * @see TGUIFocusManager
+	 */
+	protected boolean isFocusable()
+	{
+		return false;
+	}
+	
+	/**
+	 * Checks whether or not a key held down while this component has the focus should be pressed again on a timer. 
+	 * False by default.
+	 * @param key - The keyboard button ID.
+	 * @return - True if the key should repeat.
+	 * @see TGUIKeyRepeat
+	 */
+	protected boolean isKeyRepeated(int key)
+	{
+		return false;
+	}
+	
+	/**
+	 * @return - True if this component is the focused component of its TGUI.
+	 */
+	public boolean hasFocus()
+	{
+		return gui != null && gui.getFocus() == this;
+	}
+	
+	/**
+	 * Called by the TGUI when this component becomes the focused component.
+	 */
+	protected void focusGained() {}
+	
+	/**
+	 * Called by the TGUI when this component stops being the focused component.
+	 */
+	protected void focusLost() {}
+
+	/*
+	 * The input functions below only pass input on to the children when the component isn't part of a TGUI. A TGUI routes 
+	 * input to the component it targets instead.
+	 */
+	
 	public void mousePressed(int button, int x, int y)
 	{
 		if (enabled)
@@ -517,7 +1016,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 				if (mousePress != null)
 					mousePress.execute(button, x, y, this);
 			}
-			if (children != null)
+			if (children != null && gui == null)
 				for (TGUIComponent child : children)
 					child.mousePressed(button, x, y);
 		}
@@ -525,16 +1024,23 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 
 	public void mouseReleased(int button, int x, int y)
 	{
-		if (enabled) // TODO dont forget to run mouseRelease here as well
-			if (children != null)
+		if (enabled)
+		{
+			if (mouseIsOver())
+			{
+				if (mouseRelease != null)
+					mouseRelease.execute(button, x, y, this);
+			}
+			if (children != null && gui == null)
 				for (TGUIComponent child : children)
 					child.mouseReleased(button, x, y);
+		}
 	}
 
 	public void mouseWheelMoved(int change)
 	{
 		if (enabled)
-			if (children != null)
+			if (children != null && gui == null)
 				for (TGUIComponent child : children)
 					child.mouseWheelMoved(change);
 	}
@@ -542,7 +1048,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	public void keyPressed(int key, char c)
 	{
 		if (enabled)
-			if (children != null)
+			if (children != null && gui == null)
 				for (TGUIComponent child : children)
 					child.keyPressed(key, c);
 	}
@@ -550,7 +1056,7 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	public void keyReleased(int key, char c)
 	{
 		if (enabled)
-			if (children != null)
+			if (children != null && gui == null)
 				for (TGUIComponent child : children)
 					child.keyReleased(key, c);
 	}
@@ -559,4 +1065,58 @@ public class TGUIComponent extends TGUIObject implements TIGUIInterface, Compara
 	{
 		return priority < arg0.priority ? -1 : (priority == arg0.priority ? 0 : 1);
 	}
+	
+	/**
+	 * Stands in for the graphics context while a cached component is updated, collecting the components that would have 
+	 * drawn instead of letting them draw, so they can be drawn onto the cache image later if it is out of date.
+	 */
+	private static final class DrawList extends Graphics
+	{
+		private TGUIComponent[] components = new TGUIComponent[16];
+		/**
+		 * True where the component is a cached child, drawn as its cache image.
+		 */
+		private boolean[] blits = new boolean[16];
+		private int count;
+		
+		void reset()
+		{
+			Arrays.fill(components, 0, count, null);
+			count = 0;
+		}
+		
+		void add(TGUIComponent component, boolean blit)
+		{
+			if (count == components.length)
+			{
+				components = Arrays.copyOf(components, count * 2);
+				blits = Arrays.copyOf(blits, count * 2);
+			}
+			components[count] = component;
+			blits[count++] = blit;
+		}
+		
+		void addAll(DrawList list)
+		{
+			for (int i = 0; i < list.count; ++i)
+				add(list.components[i], list.blits[i]);
+		}
+		
+		/**
+		 * Draws every collected component, in the order they were collected.
+		 * @param g - The graphics context to draw on.
+		 * @throws SlickException
+		 */
+		void draw(Graphics g) throws SlickException
+		{
+			for (int i = 0; i < count; ++i)
+			{
+				TGUIComponent component = components[i];
+				if (blits[i])
+					g.drawImage(component.cacheImage, component.screenPos.x, component.screenPos.y);
+				else
+					component.pDraw(g);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package tl.GUI;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TGUIFocusManager keeps track of the focused component of a single TGUI, which keyboard input is routed to.<br>
+ * It also keeps the tab order: every {@link TGUIComponent#isFocusable() focusable} component in the TGUI, in the order
+ * they are drawn. The tab order is only rebuilt after components have been added or removed, and each component
+ * remembers its place in it, so moving to the next or previous component doesn't have to search the tree.
+ * @since 2.3
+ * @see TGUI#getFocusManager()
+ */
+public class TGUIFocusManager
+{
+	private final TGUI gui;
+	private final ArrayList<TGUIComponent> order;
+	private boolean dirty;
+	private TGUIComponent focus;
+
+	/**
+	 * TGUIFocusManager's constructor.
+	 * @param gui - The TGUI whose focus is managed.
+	 */
+	public TGUIFocusManager(TGUI gui)
+	{
+		this.gui = gui;
+		order = new ArrayList<TGUIComponent>();
+		dirty = true;
+	}
+
+	/**
+	 * @return - The focused component, or null if there is none.
+	 */
+	public TGUIComponent getFocus()
+	{
+		return focus;
+	}
+
+	/**
+	 * Sets the focused component, telling the old one that it has lost the focus and the new one that it has gained it.
+	 * @param component - The component to focus, or null to clear the focus.
+	 * @throws TGUIException - If the component isn't part of this manager's TGUI.
+	 */
+	public void setFocus(TGUIComponent component) throws TGUIException
+	{
+		if (component == focus)
+			return;
+		if (component != null && component.gui != gui)
+			throw new TGUIException(component.getType().toString() + "[" + component.getID() + "]: component is not part of this TGUI!");
+		TGUIComponent old = focus;
+		focus = component;
+		if (old != null)
+			old.focusLost();
+		if (component != null)
+			component.focusGained();
+	}
+
+	/**
+	 * Marks the tab order as out of date. It will be rebuilt the next time it is used.
+	 */
+	public void invalidate()
+	{
+		dirty = true;
+	}
+
+	/**
+	 * @return - Every focusable component in the TGUI, in tab order.
+	 */
+	public List<TGUIComponent> getTabOrder()
+	{
+		if (dirty)
+			rebuild();
+		return Collections.unmodifiableList(order);
+	}
+
+	/**
+	 * Moves the focus to the next enabled and visible component in the tab order, wrapping around at the end.
+	 * @return - The newly focused component, or null if there is nothing to focus.
+	 */
+	public TGUIComponent focusNext()
+	{
+		return move(1);
+	}
+
+	/**
+	 * Moves the focus to the previous enabled and visible component in the tab order, wrapping around at the start.
+	 * @return - The newly focused component, or null if there is nothing to focus.
+	 */
+	public TGUIComponent focusPrevious()
+	{
+		return move(-1);
+	}
+
+	private TGUIComponent move(int step)
+	{
+		if (dirty)
+			rebuild();
+		int size = order.size();
+		if (size == 0)
+			return focus;
+		int start = focus != null && focus.tabIndex >= 0 ? focus.tabIndex : (step > 0 ? size - 1 : 0);
+		for (int i = 1; i <= size; ++i)
+		{
+			TGUIComponent next = order.get(((start + step * i) % size + size) % size);
+			if (next.getEnabled() && next.getVisibility())
+			{
+				setFocus(next);
+				return next;
+			}
+		}
+		return focus;
+	}
+
+	/**
+	 * Clears the focus if it is on a component that is being removed from the TGUI.
+	 */
+	void forget(TGUIComponent component)
+	{
+		dirty = true;
+		component.tabIndex = -1;
+		if (focus == component)
+			setFocus(null);
+	}
+
+	private void rebuild()
+	{
+		for (TGUIComponent component : order)
+			component.tabIndex = -1;
+		order.clear();
+		List<TGUIComponent> controls = gui.controls;
+		for (int i = 0; i < controls.size(); ++i)
+			add(controls.get(i));
+		dirty = false;
+	}
+
+	private void add(TGUIComponent component)
+	{
+		if (component.isFocusable())
+		{
+			component.tabIndex = order.size();
+			order.add(component);
+		}
+		if (component.children != null)
+			for (int i = 0; i < component.children.size(); ++i)
+				add(component.children.get(i));
+	}
+}
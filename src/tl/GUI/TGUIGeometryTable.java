@@ -0,0 +1,357 @@
+package tl.GUI;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TGUIGeometryTable keeps the geometry of every component in a single TGUI in parallel arrays, one row per component,
+ * instead of in the TPoint and TSize objects spread around the heap.<br>
+ * Rows are stored in draw order, so a parent always comes before its children. Screen positions are worked out in a
+ * single pass from the first row to the last, and hit testing and culling are plain scans over the arrays.<br>
+ * The table is optional. Once enabled on a TGUI, components write their position, size, visibility and enabled state
+ * into their row as they change, and the rows are only rebuilt when the component tree changes.
+ * @since 2.3
+ * @see TGUI#setGeometryTable(boolean)
+ */
+public class TGUIGeometryTable
+{
+	private final TGUI gui;
+	private TGUIComponent components[];
+	private float x[];
+	private float y[];
+	private float screenX[];
+	private float screenY[];
+	private float width[];
+	private float height[];
+	/**
+	 * The row of each component's parent, or -1 for the TGUI's controls.
+	 */
+	private int parent[];
+	private long visible[];
+	private long enabled[];
+	/**
+	 * Whether or not each component and all of its parents are visible, worked out along with the screen positions.
+	 */
+	private long shown[];
+	/**
+	 * The rows found by the last call to {@link #cull(float, float, float, float)}.
+	 */
+	private long inView[];
+	private int count;
+	private boolean structureDirty;
+	private boolean transformDirty;
+
+	/**
+	 * TGUIGeometryTable's constructor.
+	 * @param gui - The TGUI whose components are stored in this table.
+	 */
+	public TGUIGeometryTable(TGUI gui)
+	{
+		this.gui = gui;
+		allocate(64);
+		structureDirty = true;
+	}
+
+	/**
+	 * Marks the rows as out of date, after components have been added to or removed from the TGUI. They will be rebuilt
+	 * the next time the table is used.
+	 */
+	public void invalidate()
+	{
+		structureDirty = true;
+	}
+
+	/**
+	 * @return - The number of rows, one for every component in the TGUI.
+	 */
+	public int size()
+	{
+		if (structureDirty)
+			rebuild();
+		return count;
+	}
+
+	/**
+	 * @param component - The component to find.
+	 * @return - The row of the component, or -1 if it isn't in the TGUI.
+	 */
+	public int indexOf(TGUIComponent component)
+	{
+		if (structureDirty)
+			rebuild();
+		int index = component.geometryIndex;
+		return index >= 0 && index < count && components[index] == component ? index : -1;
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - The component stored in the row.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public TGUIComponent getComponent(int index) throws TGUIException
+	{
+		check(index);
+		return components[index];
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - The x position on the screen of the component stored in the row.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public float getScreenX(int index) throws TGUIException
+	{
+		check(index);
+		return screenX[index];
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - The y position on the screen of the component stored in the row.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public float getScreenY(int index) throws TGUIException
+	{
+		check(index);
+		return screenY[index];
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - True if the component stored in the row, and all of its parents, are visible.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public boolean isShown(int index) throws TGUIException
+	{
+		check(index);
+		return get(shown, index);
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - True if the component stored in the row is enabled.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public boolean isEnabled(int index) throws TGUIException
+	{
+		check(index);
+		return get(enabled, index);
+	}
+
+	/**
+	 * Finds the topmost component under a position, by scanning the rows from last to first. Only the components whose
+	 * bounds contain the position are asked to {@link TGUIComponent#hitTest(float, float) hit test} it.
+	 * @param px - The x position to check.
+	 * @param py - The y position to check.
+	 * @return - The component, or null if there is no component at the position.
+	 */
+	public TGUIComponent pick(float px, float py)
+	{
+		validate();
+		for (int i = count - 1; i >= 0; --i)
+		{
+			if (!get(shown, i))
+				continue;
+			float sx = screenX[i];
+			float sy = screenY[i];
+			if (px >= sx && px <= sx + width[i] && py >= sy && py <= sy + height[i] && components[i].hitTest(px, py))
+				return components[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Finds every shown component that overlaps an area of the screen, in a single scan over the rows.
+	 * @param vx - The x position of the area.
+	 * @param vy - The y position of the area.
+	 * @param vwidth - The width of the area.
+	 * @param vheight - The height of the area.
+	 * @return - The number of components in the area.
+	 * @see #isInView(int)
+	 */
+	public int cull(float vx, float vy, float vwidth, float vheight)
+	{
+		validate();
+		Arrays.fill(inView, 0);
+		int found = 0;
+		float right = vx + vwidth;
+		float bottom = vy + vheight;
+		for (int i = 0; i < count; ++i)
+		{
+			if (!get(shown, i))
+				continue;
+			float sx = screenX[i];
+			float sy = screenY[i];
+			if (sx <= right && sx + width[i] >= vx && sy <= bottom && sy + height[i] >= vy)
+			{
+				inView[i >> 6] |= 1L << i;
+				++found;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @param index - The row.
+	 * @return - True if the component stored in the row was in the area given to the last call to
+	 * {@link #cull(float, float, float, float)}.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public boolean isInView(int index) throws TGUIException
+	{
+		check(index);
+		return get(inView, index);
+	}
+
+	/**
+	 * Copies the geometry of a component into its row, or marks the rows as out of date if the component doesn't have one yet.
+	 */
+	void update(TGUIComponent component)
+	{
+		int index = component.geometryIndex;
+		if (structureDirty || index < 0 || index >= count || components[index] != component)
+		{
+			structureDirty = true;
+			return;
+		}
+		load(index, component);
+		transformDirty = true;
+	}
+
+	/**
+	 * Rebuilds the rows if the component tree has changed, and works out the screen positions if any geometry has changed.
+	 */
+	private void validate()
+	{
+		if (structureDirty)
+			rebuild();
+		if (transformDirty)
+			propagate();
+	}
+
+	/**
+	 * Works out every screen position and whether or not every row is shown, in one pass. Parents come before their
+	 * children, so a parent's row is always up to date when its children are reached.
+	 */
+	private void propagate()
+	{
+		for (int i = 0; i < count; ++i)
+		{
+			int p = parent[i];
+			if (p < 0)
+			{
+				screenX[i] = x[i];
+				screenY[i] = y[i];
+				put(shown, i, get(visible, i));
+			}
+			else
+			{
+				screenX[i] = screenX[p] + x[i];
+				screenY[i] = screenY[p] + y[i];
+				put(shown, i, get(visible, i) && get(shown, p));
+			}
+		}
+		transformDirty = false;
+	}
+
+	/**
+	 * Empties the table, when it is turned off.
+	 */
+	void clear()
+	{
+		for (int i = 0; i < count; ++i)
+		{
+			components[i].geometryIndex = -1;
+			components[i] = null;
+		}
+		count = 0;
+		structureDirty = true;
+	}
+
+	private void rebuild()
+	{
+		clear();
+		List<TGUIComponent> controls = gui.controls;
+		for (int i = 0; i < controls.size(); ++i)
+			add(controls.get(i), -1);
+		structureDirty = false;
+		propagate();
+	}
+
+	private void add(TGUIComponent component, int parentIndex)
+	{
+		if (count == components.length)
+			allocate(count * 2);
+		int index = count++;
+		components[index] = component;
+		component.geometryIndex = index;
+		parent[index] = parentIndex;
+		load(index, component);
+		if (component.children != null)
+			for (int i = 0; i < component.children.size(); ++i)
+				add(component.children.get(i), index);
+	}
+
+	private void load(int index, TGUIComponent component)
+	{
+		x[index] = component.position.x;
+		y[index] = component.position.y;
+		width[index] = component.size.width;
+		height[index] = component.size.height;
+		put(visible, index, component.visible);
+		put(enabled, index, component.enabled);
+	}
+
+	private void allocate(int capacity)
+	{
+		int words = (capacity + 63) >> 6;
+		if (components == null)
+		{
+			components = new TGUIComponent[capacity];
+			x = new float[capacity];
+			y = new float[capacity];
+			screenX = new float[capacity];
+			screenY = new float[capacity];
+			width = new float[capacity];
+			height = new float[capacity];
+			parent = new int[capacity];
+			visible = new long[words];
+			enabled = new long[words];
+			shown = new long[words];
+			inView = new long[words];
+			return;
+		}
+		components = Arrays.copyOf(components, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		screenX = Arrays.copyOf(screenX, capacity);
+		screenY = Arrays.copyOf(screenY, capacity);
+		width = Arrays.copyOf(width, capacity);
+		height = Arrays.copyOf(height, capacity);
+		parent = Arrays.copyOf(parent, capacity);
+		visible = Arrays.copyOf(visible, words);
+		enabled = Arrays.copyOf(enabled, words);
+		shown = Arrays.copyOf(shown, words);
+		inView = Arrays.copyOf(inView, words);
+	}
+
+	private void check(int index) throws TGUIException
+	{
+		validate();
+		if (index < 0 || index >= count)
+			throw new TGUIException("index " + index + " out of bounds! [" + count + "]");
+	}
+
+	private static boolean get(long bits[], int index)
+	{
+		return (bits[index >> 6] & (1L << index)) != 0;
+	}
+
+	private static void put(long bits[], int index, boolean value)
+	{
+		if (value)
+			bits[index >> 6] |= 1L << index;
+		else
+			bits[index >> 6] &= ~(1L << index);
+	}
+}
@@ -24,14 +24,28 @@ public class TGUIHBoxLayout extends TGUILayout
 		super.addSpacing(spacing);
 	}
 	
-	public void pOrganise()
+	protected void pMeasure()
+	{
+		TSize parentSize = getParentSize();
+		int total = stretch ? childSizes(parentSize, TEDirection.LEFT_TO_RIGHT) : 0;
+		int largestHeight = 0;
+		float width = space;
+		for (TGUIObject component : components)
+		{
+			width += (stretch ? total : component.size.width) + space;
+			if (largestHeight < component.size.height)
+				largestHeight = component.size.height;
+		}
+		size.set((int)width, stretch ? parentSize.height - (int)position.y : largestHeight);
+	}
+	
+	protected void pArrange()
 	{
 		if (TGUIManager.debug)
 			System.out.println("horizontal org:");
 		TSize parentSize = getParentSize();
-		int largestHeight = 0;
 		
-		int total = childSizes(parentSize, TEDirection.LEFT_TO_RIGHT);
+		int total = stretch ? childSizes(parentSize, TEDirection.LEFT_TO_RIGHT) : 0;
 		if (TGUIManager.debug)
 			System.out.println("total " + total);
 		float itr = position.x + space;
@@ -39,50 +53,38 @@ public class TGUIHBoxLayout extends TGUILayout
 		{
 			if (stretch)
 				component.setSize(total, parentSize.height - (int)position.y - space * 2);
-			component.setPosition(itr, !stretch ? component.getPosition().y : position.y + space);
+			component.setPosition(itr, !stretch ? component.position.y : position.y + space);
 			if (TGUIManager.debug)
 				System.out.println("pos: " + component.getPosition().toFormattedString() + " size: " + component.getSize().toFormattedString());
-			itr += component.getSize().width + space;
-			int height = component.getSize().height;
-			if (largestHeight < height)
-				largestHeight = height;
+			itr += component.size.width + space;
 		}
-		size.set((int)(itr - position.x), stretch ? parentSize.height - (int)position.y : largestHeight);
 	}
 	
 	public void setPosition(float x, float y)
 	{
-		TPoint other = new TPoint(x, y);
-		TPoint diff = other.subtract(position);
-		super.setPosition(other);
+		float dx = x - position.x;
+		float dy = y - position.y;
+		super.setPosition(x, y);
 		
 		for (TGUIObject component : components)
-			component.setPosition(component.getPosition().add(diff));
+			component.setPosition(component.position.x + dx, component.position.y + dy);
 	}
 	
 	public void setPosition(TPoint position)
 	{
-		TPoint other = new TPoint(position);
-		TPoint diff = other.subtract(this.position);
-		super.setPosition(other);
-		
-		for (TGUIObject component : components)
-			component.setPosition(component.getPosition().add(diff));
+		setPosition(position.x, position.y);
 	}
 	
 	public void setSize(int width, int height) // ignores height, meant to be used after organisation
 	{
-		TSize size = new TSize(width, height);
 		float percentage = this.size.width / width;
-		super.setSize(size.width, this.size.height);
+		super.setSize(width, this.size.height);
 		
 		float i = 0;
 		for (TGUIObject component : components)
 		{
-			TSize comp = new TSize(component.getSize());
-			component.setSize((int)(comp.width * percentage), comp.height);
-			TPoint pos = component.getPosition();
-			component.setPosition(pos.x * (i * percentage), pos.y);
+			component.setSize((int)(component.size.width * percentage), component.size.height);
+			component.setPosition(component.position.x * (i * percentage), component.position.y);
 			++i;
 		}
 	}
@@ -95,10 +97,8 @@ public class TGUIHBoxLayout extends TGUILayout
 		float i = 0;
 		for (TGUIObject component : components)
 		{
-			TSize comp = new TSize(component.getSize());
-			component.setSize((int)(comp.width * percentage), comp.height);
-			TPoint pos = component.getPosition();
-			component.setPosition(pos.x * (i * percentage), pos.y);
+			component.setSize((int)(component.size.width * percentage), component.size.height);
+			component.setPosition(component.position.x * (i * percentage), component.position.y);
 			++i;
 		}
 	}
@@ -0,0 +1,140 @@
+package tl.GUI;
+
+/**
+ * TGUIInput describes a single input event while it is routed through a TGUI.<br>
+ * Mouse events are routed to the topmost component under the cursor and keyboard events are routed to the focused 
+ * component. The event is passed to the capture listener of each component from the topmost parent down to the target, 
+ * then to the target itself, then to the bubble listener of each component back up to the topmost parent. Any listener 
+ * can call {@link #stopPropagation()} to stop the event there.
+ * @since 2.3
+ * @see TGUIComponent#onInputCapture(TGUIInputEvent)
+ * @see TGUIComponent#onInputBubble(TGUIInputEvent)
+ */
+public class TGUIInput
+{
+	private final TEInputType type;
+	private final TGUIComponent target;
+	private final int button;
+	private final int x;
+	private final int y;
+	private final int change;
+	private final int key;
+	private final char c;
+	private TEInputPhase phase;
+	private boolean repeat;
+	private boolean stopped;
+	
+	TGUIInput(TEInputType type, TGUIComponent target, int button, int x, int y, int change, int key, char c)
+	{
+		this.type = type;
+		this.target = target;
+		this.button = button;
+		this.x = x;
+		this.y = y;
+		this.change = change;
+		this.key = key;
+		this.c = c;
+		phase = TEInputPhase.CAPTURE;
+	}
+	
+	public TEInputType getType()
+	{
+		return type;
+	}
+	
+	/**
+	 * @return - The component the event is routed to.
+	 */
+	public TGUIComponent getTarget()
+	{
+		return target;
+	}
+	
+	public TEInputPhase getPhase()
+	{
+		return phase;
+	}
+	
+	void setPhase(TEInputPhase phase)
+	{
+		this.phase = phase;
+	}
+	
+	/**
+	 * @return - The mouse button of a mouse press or release. 0 - LMB, 1 - RMB, 2 - MMB
+	 */
+	public int getButton()
+	{
+		return button;
+	}
+	
+	/**
+	 * @return - The x position of the cursor for mouse events.
+	 */
+	public int getX()
+	{
+		return x;
+	}
+	
+	/**
+	 * @return - The y position of the cursor for mouse events.
+	 */
+	public int getY()
+	{
+		return y;
+	}
+	
+	/**
+	 * @return - The change of the mouse wheel for mouse wheel events.
+	 */
+	public int getChange()
+	{
+		return change;
+	}
+	
+	/**
+	 * @return - The keyboard button ID for keyboard events.
+	 */
+	public int getKey()
+	{
+		return key;
+	}
+	
+	/**
+	 * @return - The character of the keyboard button for keyboard events (if any).
+	 */
+	public char getChar()
+	{
+		return c;
+	}
+	
+	/**
+	 * @return - True if this key press was sent by the TGUI's key repeat rather than by the keyboard.
+	 * @see TGUIKeyRepeat
+	 */
+	public boolean isRepeat()
+	{
+		return repeat;
+	}
+	
+	void setRepeat(boolean repeat)
+	{
+		this.repeat = repeat;
+	}
+	
+	/**
+	 * Stops the event from being passed to any more listeners, or to the target if it hasn't been reached yet.
+	 */
+	public void stopPropagation()
+	{
+		stopped = true;
+	}
+	
+	/**
+	 * @return - True if {@link #stopPropagation()} has been called.
+	 */
+	public boolean isPropagationStopped()
+	{
+		return stopped;
+	}
+}
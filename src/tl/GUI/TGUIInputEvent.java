@@ -0,0 +1,6 @@
+package tl.GUI;
+
+public interface TGUIInputEvent
+{
+	public void execute(TGUIInput input, TGUIComponent control);
+}
@@ -0,0 +1,192 @@
+package tl.GUI;
+
+import org.newdawn.slick.Input;
+
+/**
+ * TGUIKeyRepeat repeats the key held down on the focused component of a single TGUI, on a clock rather than a frame
+ * count.<br>
+ * It follows the key presses and releases the TGUI routes, so it only ever tracks the last key pressed. Once that key
+ * has been held for the delay, it is pressed again on the component it was first pressed on every interval, for as long
+ * as the key stays down and the component keeps the focus. Times are measured with {@link System#nanoTime()}, so keys
+ * repeat at the same speed whatever the frame rate is. If a frame takes longer than the interval, the missed repeats
+ * are all sent at the start of the next one, up to {@link #MAX_REPEATS_PER_FRAME}.<br>
+ * Only keys that the component {@link TGUIComponent#isKeyRepeated(int) asks to have repeated} are repeated. Repeats are
+ * routed like any other key press, and can be told apart with {@link TGUIInput#isRepeat()}.
+ * @since 2.3
+ * @see TGUI#getKeyRepeat()
+ */
+public class TGUIKeyRepeat
+{
+	/**
+	 * The delay in milliseconds before a key starts repeating, by default. 15 frames at 60 frames per second.
+	 */
+	public static final int DEFAULT_DELAY = 250;
+	/**
+	 * The time in milliseconds between repeats, by default. 4 frames at 60 frames per second.
+	 */
+	public static final int DEFAULT_INTERVAL = 67;
+	/**
+	 * The most repeats sent in a single frame, so that a long stall doesn't flood the component.
+	 */
+	public static final int MAX_REPEATS_PER_FRAME = 8;
+
+	private final TGUI gui;
+	private long delay;
+	private long interval;
+	private boolean enabled;
+	/**
+	 * The key being repeated, or -1 if there is none.
+	 */
+	private int key;
+	private char c;
+	private TGUIComponent target;
+	/**
+	 * The time in nanoseconds of the next repeat.
+	 */
+	private long next;
+
+	/**
+	 * TGUIKeyRepeat's constructor.
+	 * @param gui - The TGUI whose keys are repeated.
+	 */
+	public TGUIKeyRepeat(TGUI gui)
+	{
+		this.gui = gui;
+		delay = DEFAULT_DELAY * 1000000L;
+		interval = DEFAULT_INTERVAL * 1000000L;
+		enabled = true;
+		key = -1;
+	}
+
+	/**
+	 * Sets how long a key has to be held down before it starts repeating.
+	 * @param millis - The delay in milliseconds.
+	 * @throws TGUIException - If the delay is negative.
+	 */
+	public void setDelay(int millis) throws TGUIException
+	{
+		if (millis < 0)
+			throw new TGUIException("delay " + millis + " must not be negative!");
+		delay = millis * 1000000L;
+	}
+
+	/**
+	 * @return - The delay in milliseconds before a key starts repeating.
+	 */
+	public int getDelay()
+	{
+		return (int)(delay / 1000000L);
+	}
+
+	/**
+	 * Sets the time between repeats once a key has started repeating.
+	 * @param millis - The interval in milliseconds.
+	 * @throws TGUIException - If the interval isn't positive.
+	 */
+	public void setInterval(int millis) throws TGUIException
+	{
+		if (millis <= 0)
+			throw new TGUIException("interval " + millis + " must be positive!");
+		interval = millis * 1000000L;
+	}
+
+	/**
+	 * @return - The time in milliseconds between repeats.
+	 */
+	public int getInterval()
+	{
+		return (int)(interval / 1000000L);
+	}
+
+	/**
+	 * Turns repeating on or off. On by default.
+	 * @param enabled - True to repeat keys.
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+		if (!enabled)
+			cancel();
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * @return - The key being held down and repeated, or -1 if there is none.
+	 */
+	public int getRepeatingKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Stops repeating the key being held down, until a key is next pressed.
+	 */
+	public void cancel()
+	{
+		key = -1;
+		target = null;
+	}
+
+	/**
+	 * Starts tracking a key that has just been pressed on a component, replacing the key tracked before it.
+	 */
+	void pressed(int key, char c, TGUIComponent target, long now)
+	{
+		if (enabled && target != null && target.isKeyRepeated(key))
+		{
+			this.key = key;
+			this.c = c;
+			this.target = target;
+			next = now + delay;
+		}
+		else
+			cancel();
+	}
+
+	/**
+	 * Stops tracking a key once it has been released.
+	 */
+	void released(int key)
+	{
+		if (key == this.key)
+			cancel();
+	}
+
+	/**
+	 * Stops repeating on a component that is being removed from the TGUI.
+	 */
+	void forget(TGUIComponent component)
+	{
+		if (target == component)
+			cancel();
+	}
+
+	/**
+	 * Sends every repeat that is due. Called once per frame by the TGUI.
+	 * @param now - The time in nanoseconds, from {@link System#nanoTime()}.
+	 */
+	void update(long now)
+	{
+		if (key < 0 || now - next < 0)
+			return;
+		Input keys = TGUIManager.guiInput;
+		if (target != gui.getFocus() || !target.enabled || (keys != null && !keys.isKeyDown(key))) // the release was missed
+		{
+			cancel();
+			return;
+		}
+		int repeats = 0;
+		while (now - next >= 0 && repeats < MAX_REPEATS_PER_FRAME && key >= 0)
+		{
+			gui.repeatKey(key, c, target);
+			next += interval;
+			++repeats;
+		}
+		if (now - next >= 0) // too far behind to catch up
+			next = now + interval;
+	}
+}
@@ -43,6 +43,29 @@ public abstract class TGUILayout extends TGUIObject
 	 * @see #addComponent(TGUIObject)
 	 */
 	boolean organiseOnAdd;
+	/**
+	 * Whether or not the layout needs to be measured and arranged again.
+	 * @see #invalidate()
+	 */
+	boolean dirty;
+	/**
+	 * Set while the layout is measuring or arranging, so that the changes it makes to its own components don't 
+	 * invalidate it again.
+	 */
+	private boolean validating;
+	/**
+	 * The TGUI that validates this layout once per frame, or null. Only set on layouts that aren't inside another layout.
+	 * @see TGUI#addLayout(TGUILayout)
+	 */
+	TGUI gui;
+	/**
+	 * The width of the parent when the layout was last arranged.
+	 */
+	private int arrangedWidth;
+	/**
+	 * The height of the parent when the layout was last arranged.
+	 */
+	private int arrangedHeight;
 	
 	/**
 	 * TGUIView's constructor. Used to set its parent on construction.
@@ -56,6 +79,7 @@ public abstract class TGUILayout extends TGUIObject
 		components = new LinkedList<>();
 		space = 3;
 		organiseOnAdd = onAdd;
+		dirty = true;
 		//position = parent != null ? (parent instanceof TGUIComponent ? new TPoint() : parent.position) : new TPoint();
 		//size = parent != null ? parent.size : new TSize(TGUIManager.screenWidth, TGUIManager.screenHeight);
 		position = new TPoint();
@@ -69,6 +93,7 @@ public abstract class TGUILayout extends TGUIObject
 	public void setParent(TGUIObject parent)
 	{
 		this.parent = parent;
+		invalidate();
 	}
 	
 	/**
@@ -84,8 +109,9 @@ public abstract class TGUILayout extends TGUIObject
 				throw new TGUIException("component is NULL!");
 			
 			components.add(component);
+			pAdopt(component);
 			if (organiseOnAdd)
-				pOrganise();
+				invalidate();
 		}
 		catch (TGUIException e)
 		{
@@ -108,9 +134,10 @@ public abstract class TGUILayout extends TGUIObject
 					throw new TGUIException("component is NULL!");
 				
 				this.components.add(component);
-				if (organiseOnAdd)
-					pOrganise();
+				pAdopt(component);
 			}
+			if (organiseOnAdd)
+				invalidate();
 		}
 		catch (TGUIException e)
 		{
@@ -134,8 +161,9 @@ public abstract class TGUILayout extends TGUIObject
 				throw new TGUIException("index " + index + " out of bounds! [" + components.size() + "]");
 			
 			components.add(index, component);
+			pAdopt(component);
 			if (organiseOnAdd)
-				pOrganise();
+				invalidate();
 		}
 		catch (TGUIException e)
 		{
@@ -144,18 +172,122 @@ public abstract class TGUILayout extends TGUIObject
 	}
 	
 	/**
-	 * A protected organise function. Made to be overridden by TGUIVerticalView and TGUIHorizontalView.
+	 * Makes this layout the one a newly added component tells when its size changes. A nested layout that is still 
+	 * waiting to be arranged always invalidates this layout, so that it isn't left behind.
+	 */
+	private void pAdopt(TGUIObject component)
+	{
+		component.layout = this;
+		if (component instanceof TGUILayout)
+		{
+			TGUILayout nested = (TGUILayout)component;
+			if (nested.gui != null)
+				nested.gui.removeLayout(nested);
+			if (nested.dirty)
+				invalidate();
+		}
+	}
+	
+	/**
+	 * The measure pass. Works out the size of the layout from the sizes of its components, without moving or resizing 
+	 * them. Nested layouts have already been measured when this is called. Made to be overridden by TGUIVBoxLayout and 
+	 * TGUIHBoxLayout.
 	 * @see TGUIVBoxLayout
 	 * @see TGUIHBoxLayout
 	 */
-	protected void pOrganise() {}
+	protected void pMeasure() {}
 	
 	/**
-	 * Used to manually re-organise the layout.
+	 * The arrange pass. Positions, and if stretching resizes, each component. Nested layouts are arranged after this is 
+	 * called, at the positions given to them here. Made to be overridden by TGUIVBoxLayout and TGUIHBoxLayout.
+	 * @see TGUIVBoxLayout
+	 * @see TGUIHBoxLayout
+	 */
+	protected void pArrange() {}
+	
+	/**
+	 * Used to manually re-organise the layout, straight away.
 	 */
 	public void organise()
 	{
-		pOrganise();
+		dirty = true;
+		validate();
+	}
+	
+	/**
+	 * Marks the layout as needing to be measured and arranged again, and passes this on to the layout it is in, since 
+	 * its size may change. It is passed on no further than the first layout that is already waiting.<br>
+	 * A layout added to a TGUI is validated by it once per frame, so any number of changes in between are laid out 
+	 * together. A top level layout that isn't in a TGUI is validated straight away if it organises on add.
+	 * @see TGUI#addLayout(TGUILayout)
+	 */
+	public void invalidate()
+	{
+		if (validating)
+			return;
+		dirty = true;
+		if (layout != null)
+		{
+			if (!layout.dirty)
+				layout.invalidate();
+		}
+		else if (gui == null && organiseOnAdd)
+			validate();
+	}
+	
+	/**
+	 * Measures then arranges the layout if it has been invalidated, or if the size of its parent has changed since it 
+	 * was last arranged. Only nested layouts that need it are measured and arranged again.
+	 */
+	public void validate()
+	{
+		if (!needsLayout())
+			return;
+		measure();
+		arrange();
+	}
+	
+	/**
+	 * @return - True if the layout has been invalidated or the size of its parent has changed.
+	 */
+	public boolean needsLayout()
+	{
+		return dirty || parentWidth() != arrangedWidth || parentHeight() != arrangedHeight;
+	}
+	
+	private void measure()
+	{
+		validating = true;
+		for (TGUIObject component : components)
+			if (component instanceof TGUILayout && ((TGUILayout)component).needsLayout())
+				((TGUILayout)component).measure();
+		pMeasure();
+		validating = false;
+	}
+	
+	private void arrange()
+	{
+		validating = true;
+		pArrange();
+		for (TGUIObject component : components)
+			if (component instanceof TGUILayout && ((TGUILayout)component).needsLayout())
+				((TGUILayout)component).arrange();
+		if (stretch) // a stretched layout's size depends on where it was placed
+			pMeasure();
+		arrangedWidth = parentWidth();
+		arrangedHeight = parentHeight();
+		dirty = false;
+		validating = false;
+	}
+	
+	private int parentWidth()
+	{
+		return parent == null ? TGUIManager.screenWidth : parent.size.width;
+	}
+	
+	private int parentHeight()
+	{
+		return parent == null ? TGUIManager.screenHeight : parent.size.height;
 	}
 	
 	/**
@@ -168,6 +300,7 @@ public abstract class TGUILayout extends TGUIObject
 		if (spacing < 0)
 			throw new TGUIException("spacing [" + spacing + "] must be higher than 0.");
 		space = spacing;
+		invalidate();
 	}
 	
 	/**
@@ -180,6 +313,7 @@ public abstract class TGUILayout extends TGUIObject
 		if (spacing < 0)
 			throw new TGUIException("spacing [" + spacing + "] must be higher than 0.");
 		space += spacing;
+		invalidate();
 	}
 	
 	/**
@@ -208,6 +342,7 @@ public abstract class TGUILayout extends TGUIObject
 	public void toggleStretching()
 	{
 		stretch = !stretch;
+		invalidate();
 	}
 	
 	/**
@@ -233,7 +368,10 @@ public abstract class TGUILayout extends TGUIObject
 	 */
 	public void clear()
 	{
+		for (TGUIObject component : components)
+			component.layout = null;
 		components.clear();
+		invalidate();
 	}
 	
 	/**
@@ -255,7 +393,7 @@ public abstract class TGUILayout extends TGUIObject
 	{
 		int csize = components.size();
 		float size = (((direction == TEDirection.TOP_TO_BOTTOM ? parentSize.height : parentSize.width) - ((csize + 1) * space)) / (float)components.size());
-		if ((float)Math.ceil(size) * csize + (space * (csize + 1)) > parent.getSize().height)
+		if ((float)Math.ceil(size) * csize + (space * (csize + 1)) > (direction == TEDirection.TOP_TO_BOTTOM ? parentSize.height : parentSize.width))
 			size = (float)Math.floor(size);
 		else
 			size = (float)Math.ceil(size);
@@ -1,23 +1,36 @@
 package tl.GUI;
 
 import org.newdawn.slick.Color;
+import org.newdawn.slick.Font;
 import org.newdawn.slick.Image;
 import org.newdawn.slick.Input;
 import org.newdawn.slick.SlickException;
-import org.newdawn.slick.TrueTypeFont;
 
-@SuppressWarnings("deprecation")
 public class TGUIManager
 {
 	public static Image emptyImage;
-	public static TrueTypeFont guiFont;
+	public static Font guiFont;
 	public static int screenHeight;
 	public static int screenWidth;
 	public static int numGUIs;
 	public static Input guiInput;
 	public static boolean debug;
+	/**
+	 * The layouts of the text shown by every TLabel, shared between all of them.
+	 * @since 2.3
+	 */
+	public static final TTextLayoutCache textLayouts = new TTextLayoutCache(TTextLayoutCache.DEFAULT_CAPACITY);
 
-	public static void init(Input input, int width, int height, TrueTypeFont font)
+	/**
+	 * @return - The metrics of the current {@link #guiFont}, shared by every component that measures text.
+	 * @since 2.3
+	 */
+	public static TFontMetrics getFontMetrics()
+	{
+		return TFontMetrics.get(guiFont);
+	}
+	
+	public static void init(Input input, int width, int height, Font font)
 	{
 		emptyImage = createEmptyImage();
 		guiInput = input;
@@ -26,6 +39,25 @@ public class TGUIManager
 		guiFont = font;
 	}
 	
+	/**
+	 * Initialises the GUI without a GL context, to be drawn through a {@link TJava2DRenderBackend} or a 
+	 * {@link TCountingRenderBackend}.<br>
+	 * Components that draw onto their own Image in change() still need a GL context.
+	 * @param input - The input to read the mouse and keyboard from.
+	 * @param width - The width of the screen.
+	 * @param height - The height of the screen.
+	 * @param font - The font to draw with, normally a {@link TJava2DFont}.
+	 * @see TGUI#setRenderBackend(TIRenderBackend)
+	 */
+	public static void initHeadless(Input input, int width, int height, Font font)
+	{
+		emptyImage = new Image() {};
+		guiInput = input;
+		screenWidth = width;
+		screenHeight = height;
+		guiFont = font;
+	}
+	
 	private static Image createEmptyImage()
 	{
 		Image i = null;
@@ -49,4 +81,5 @@ public class TGUIManager
 	public static Color WHITE = new Color(255, 255, 255, 255);
 	public static Color BLACK = new Color(0, 0, 0, 255);
 	public static Color YELLOW = new Color(255, 255, 0, 255);
+	public static Color TRANSPARENT = new Color(0, 0, 0, 0);
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package tl.GUI;
+
+import java.util.Arrays;
+
+import tl.Util.TSize;
+
+/**
+ * TGUIMutationBatch collects changes to a TGUI's component tree on one thread, then hands them all over at once.<br>
+ * Nothing is changed until {@link #commit()} is called. The TGUI then applies the whole batch in order at the start of
+ * a single frame, so it is never updated or drawn with only part of the batch applied.<br>
+ * A batch itself isn't thread safe, and should be filled and committed by one thread. Any number of threads can commit
+ * their own batches at the same time.
+ * @since 2.3
+ * @see TGUI#createBatch()
+ */
+public class TGUIMutationBatch
+{
+	private final TGUIMutationQueue queue;
+	private TGUIMutationEvent mutations[];
+	private int count;
+	private boolean committed;
+
+	TGUIMutationBatch(TGUIMutationQueue queue)
+	{
+		this.queue = queue;
+		mutations = new TGUIMutationEvent[8];
+	}
+
+	/**
+	 * Adds a component to a parent, or to the TGUI itself as a control.
+	 * @param parent - The component to add the child to, or null to add the child as a control.
+	 * @param child - The component to add.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed, or if the child is null.
+	 */
+	public TGUIMutationBatch add(final TGUIComponent parent, final TGUIComponent child) throws TGUIException
+	{
+		if (child == null)
+			throw new TGUIException("child component is NULL!");
+		return post(new TGUIMutationEvent()
+		{
+			public void execute(TGUI gui)
+			{
+				if (parent == null)
+					gui.addControl(child);
+				else
+					parent.addComponent(child);
+			}
+		});
+	}
+
+	/**
+	 * Removes a component from its parent, or from the TGUI if it is a control. Does nothing if it has neither by the
+	 * time the batch is applied.
+	 * @param component - The component to remove.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed, or if the component is null.
+	 */
+	public TGUIMutationBatch remove(final TGUIComponent component) throws TGUIException
+	{
+		if (component == null)
+			throw new TGUIException("component is NULL!");
+		return post(new TGUIMutationEvent()
+		{
+			public void execute(TGUI gui)
+			{
+				if (component.parent != null)
+					component.parent.removeComponent(component);
+				else if (component.gui == gui)
+					gui.removeControl(component);
+			}
+		});
+	}
+
+	/**
+	 * Sets the position of a component relative to its parent.
+	 * @param component - The component to move.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed.
+	 */
+	public TGUIMutationBatch setPosition(final TGUIComponent component, final float x, final float y) throws TGUIException
+	{
+		return post(new TGUIMutationEvent()
+		{
+			public void execute(TGUI gui)
+			{
+				component.setPosition(x, y);
+			}
+		});
+	}
+
+	/**
+	 * Sets the size of a component.
+	 * @param component - The component to resize.
+	 * @param width - The width.
+	 * @param height - The height.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed.
+	 */
+	public TGUIMutationBatch setSize(final TGUIComponent component, final int width, final int height) throws TGUIException
+	{
+		return post(new TGUIMutationEvent()
+		{
+			public void execute(TGUI gui)
+			{
+				component.setSize(width, height);
+			}
+		});
+	}
+
+	public TGUIMutationBatch setSize(TGUIComponent component, TSize size) throws TGUIException
+	{
+		return setSize(component, size.width, size.height);
+	}
+
+	/**
+	 * Shows or hides a component and its children.
+	 * @param component - The component.
+	 * @param visible - True to show the component.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed.
+	 */
+	public TGUIMutationBatch setVisible(final TGUIComponent component, final boolean visible) throws TGUIException
+	{
+		return post(new TGUIMutationEvent()
+		{
+			public void execute(TGUI gui)
+			{
+				component.setVisible(visible);
+			}
+		});
+	}
+
+	/**
+	 * Adds any other change to the batch, to be run on the TGUI's thread.
+	 * @param mutation - The change to make. It must not be null.
+	 * @return - This batch.
+	 * @throws TGUIException - If the batch has already been committed, or if the mutation is null.
+	 */
+	public TGUIMutationBatch post(TGUIMutationEvent mutation) throws TGUIException
+	{
+		if (committed)
+			throw new TGUIException("batch has already been committed!");
+		if (mutation == null)
+			throw new TGUIException("mutation is NULL!");
+		if (count == mutations.length)
+			mutations = Arrays.copyOf(mutations, count * 2);
+		mutations[count++] = mutation;
+		return this;
+	}
+
+	/**
+	 * @return - The number of changes in the batch.
+	 */
+	public int size()
+	{
+		return count;
+	}
+
+	/**
+	 * Hands every change in the batch over to the TGUI in a single post. The batch can't be used after this.
+	 * @throws TGUIException - If the batch has already been committed.
+	 */
+	public void commit() throws TGUIException
+	{
+		if (committed)
+			throw new TGUIException("batch has already been committed!");
+		committed = true;
+		if (count > 0)
+			queue.post(mutations, count);
+		mutations = null;
+	}
+}
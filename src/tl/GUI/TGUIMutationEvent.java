@@ -0,0 +1,6 @@
+package tl.GUI;
+
+public interface TGUIMutationEvent
+{
+	public void execute(TGUI gui);
+}
\ No newline at end of file
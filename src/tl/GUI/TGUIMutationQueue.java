@@ -0,0 +1,124 @@
+package tl.GUI;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * TGUIMutationQueue lets any thread hand changes to a TGUI's component tree over to the thread that updates it.<br>
+ * Posting never locks: each post swaps itself in as the tail of a linked list with a single atomic operation, so
+ * mutations are applied in the order their posts completed, and mutations posted by the same thread are always applied
+ * in the order they were posted. Only the TGUI's own thread takes mutations off the queue, at the start of each frame.
+ * @since 2.3
+ * @see TGUI#post(TGUIMutationEvent)
+ * @see TGUIMutationBatch
+ */
+public class TGUIMutationQueue
+{
+	/**
+	 * The most recently posted node. Shared by every posting thread.
+	 */
+	private final AtomicReference<Node> tail;
+	/**
+	 * The last node that has been applied. Only used by the draining thread.
+	 */
+	private Node head;
+
+	/**
+	 * TGUIMutationQueue's constructor.
+	 */
+	public TGUIMutationQueue()
+	{
+		head = new Node(null, 0);
+		tail = new AtomicReference<Node>(head);
+	}
+
+	/**
+	 * Adds a mutation to the end of the queue. Can be called from any thread.
+	 * @param mutation - The mutation to apply. It must not be null.
+	 * @throws TGUIException - If the mutation is null.
+	 */
+	public void post(TGUIMutationEvent mutation) throws TGUIException
+	{
+		if (mutation == null)
+			throw new TGUIException("mutation is NULL!");
+		enqueue(new Node(new TGUIMutationEvent[] { mutation }, 1));
+	}
+
+	/**
+	 * Adds a number of mutations to the end of the queue as a single entry, so they are applied one after another in the
+	 * same frame, without any other thread's mutations in between.
+	 */
+	void post(TGUIMutationEvent mutations[], int count)
+	{
+		enqueue(new Node(mutations, count));
+	}
+
+	/**
+	 * @return - True if there is nothing waiting to be applied. Other threads may post at any time, so this is only a hint.
+	 */
+	public boolean isEmpty()
+	{
+		return tail.get() == head;
+	}
+
+	/**
+	 * Applies every mutation that had been posted when the call was made. Mutations posted while draining, including
+	 * those posted by the mutations themselves, are left for the next call.<br>
+	 * Must only be called from the thread that updates the TGUI. If a mutation throws, its stack trace is printed and the 
+	 * mutations after it are still applied, so a frame never sees only part of a batch.
+	 * @param gui - The TGUI to apply the mutations to.
+	 * @return - The number of mutations applied without throwing.
+	 */
+	public int drain(TGUI gui)
+	{
+		Node last = tail.get();
+		int applied = 0;
+		while (head != last)
+		{
+			Node next = head.next;
+			while (next == null) // the poster has swapped in the tail but not linked it yet
+			{
+				Thread.yield();
+				next = head.next;
+			}
+			head = next;
+			TGUIMutationEvent mutations[] = next.mutations;
+			int count = next.count;
+			next.mutations = null;
+			for (int i = 0; i < count; ++i)
+			{
+				try
+				{
+					mutations[i].execute(gui);
+					++applied;
+				}
+				catch (RuntimeException e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+		return applied;
+	}
+
+	private void enqueue(Node node)
+	{
+		Node previous = tail.getAndSet(node);
+		previous.next = node;
+	}
+
+	/**
+	 * A single entry in the queue, holding either one posted mutation or one committed batch.
+	 */
+	private static final class Node
+	{
+		TGUIMutationEvent mutations[];
+		final int count;
+		volatile Node next;
+
+		Node(TGUIMutationEvent mutations[], int count)
+		{
+			this.mutations = mutations;
+			this.count = count;
+		}
+	}
+}
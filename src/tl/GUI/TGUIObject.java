@@ -21,6 +21,12 @@ public class TGUIObject
 	 * The width and height of this object.
 	 */
 	protected TSize size;
+	/**
+	 * The layout this object has been added to, which is invalidated when the object's size changes. Null if the object 
+	 * isn't in a layout.
+	 * @see TGUILayout#invalidate()
+	 */
+	TGUILayout layout;
 	
 	public TGUIObject()
 	{
@@ -52,11 +58,22 @@ public class TGUIObject
 	public void setSize(int width, int height)
 	{
 		size.set(width, height);
+		invalidateLayout();
 	}
 	
 	public void setSize(TSize size)
 	{
 		this.size.set(size);
+		invalidateLayout();
+	}
+	
+	/**
+	 * Tells the layout this object is in, if any, that it needs to be laid out again.
+	 */
+	protected final void invalidateLayout()
+	{
+		if (layout != null)
+			layout.invalidate();
 	}
 	
 	public TSize getSize()
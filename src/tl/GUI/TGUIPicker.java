@@ -0,0 +1,200 @@
+package tl.GUI;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TGUIPicker resolves which TGUIComponent is under the cursor, once per frame, for a single TGUI.<br>
+ * The screen bounds of every component in the TGUI are stored in a uniform grid of cells. The grid is only rebuilt
+ * when the component tree or its geometry has been invalidated, and resolving the cursor only has to test the
+ * components that overlap the cursor's cell.<br>
+ * Components are stored in draw order, so the last component in a cell that contains the cursor is the topmost one.<br>
+ * If the TGUI has a {@link TGUIGeometryTable}, the grid isn't used and the table is scanned instead.
+ * @since 2.3
+ * @see TGUI
+ * @see TGUIComponent#mouseIsOver()
+ */
+public class TGUIPicker
+{
+	/**
+	 * The width and height in pixels of a single grid cell.
+	 */
+	public static final int CELL_SIZE = 64;
+
+	private final TGUI gui;
+	private Cell cells[];
+	private int columns;
+	private int rows;
+	private boolean dirty;
+	private boolean resolved;
+	private float cursorX;
+	private float cursorY;
+	private TGUIComponent hovered;
+
+	/**
+	 * TGUIPicker's constructor.
+	 * @param gui - The TGUI whose controls are indexed by this picker.
+	 */
+	public TGUIPicker(TGUI gui)
+	{
+		this.gui = gui;
+		cells = new Cell[0];
+		dirty = true;
+	}
+
+	/**
+	 * Marks the index as out of date. It will be rebuilt the next time the cursor is resolved or queried.
+	 */
+	public void invalidate()
+	{
+		dirty = true;
+	}
+
+	/**
+	 * Finds the topmost component under a position and caches it, along with the position, until the next call.
+	 * @param x - The x position of the cursor.
+	 * @param y - The y position of the cursor.
+	 */
+	public void resolve(float x, float y)
+	{
+		if (gui.geometry != null)
+			dirty = false;
+		else if (dirty)
+			rebuild();
+		cursorX = x;
+		cursorY = y;
+		hovered = pick(x, y);
+		resolved = true;
+	}
+
+	/**
+	 * @return - True if the cursor has been resolved at least once, meaning the cached cursor position can be used.
+	 */
+	public boolean isResolved()
+	{
+		return resolved;
+	}
+
+	/**
+	 * Returns the topmost component under the last resolved cursor position.<br>
+	 * If the index has been invalidated since then, it is rebuilt and the cached position is resolved again.
+	 * @return - The component, or null if the cursor isn't over any component.
+	 */
+	public TGUIComponent getHovered()
+	{
+		if (dirty)
+			resolve(cursorX, cursorY);
+		return hovered;
+	}
+
+	/**
+	 * @return - The x position of the cursor at the last call to {@link #resolve(float, float)}.
+	 */
+	public float getCursorX()
+	{
+		return cursorX;
+	}
+
+	/**
+	 * @return - The y position of the cursor at the last call to {@link #resolve(float, float)}.
+	 */
+	public float getCursorY()
+	{
+		return cursorY;
+	}
+
+	/**
+	 * Finds the topmost component under a position without changing the cached result.
+	 * @param x - The x position to check.
+	 * @param y - The y position to check.
+	 * @return - The component, or null if there is no component at the position.
+	 */
+	public TGUIComponent pick(float x, float y)
+	{
+		if (gui.geometry != null)
+			return gui.geometry.pick(x, y);
+		if (dirty)
+			rebuild();
+		if (x < 0 || y < 0)
+			return null;
+		int column = Math.min((int)x / CELL_SIZE, columns - 1);
+		int row = Math.min((int)y / CELL_SIZE, rows - 1);
+		Cell cell = cells[row * columns + column];
+		for (int i = cell.count - 1; i >= 0; --i)
+			if (cell.items[i].hitTest(x, y))
+				return cell.items[i];
+		return null;
+	}
+
+	private void rebuild()
+	{
+		int width = Math.max(TGUIManager.screenWidth, 1);
+		int height = Math.max(TGUIManager.screenHeight, 1);
+		int c = (width + CELL_SIZE - 1) / CELL_SIZE;
+		int r = (height + CELL_SIZE - 1) / CELL_SIZE;
+		if (c != columns || r != rows)
+		{
+			columns = c;
+			rows = r;
+			cells = new Cell[columns * rows];
+			for (int i = 0; i < cells.length; ++i)
+				cells[i] = new Cell();
+		}
+		else
+		{
+			for (Cell cell : cells)
+				cell.clear();
+		}
+
+		List<TGUIComponent> controls = gui.controls;
+		for (int i = 0; i < controls.size(); ++i)
+			insert(controls.get(i));
+		dirty = false;
+	}
+
+	private void insert(TGUIComponent component)
+	{
+		component.validateTransform();
+		float x = component.screenPos.x;
+		float y = component.screenPos.y;
+		int left = clamp((int)Math.floor(x / CELL_SIZE), columns);
+		int top = clamp((int)Math.floor(y / CELL_SIZE), rows);
+		int right = clamp((int)Math.floor((x + component.size.width) / CELL_SIZE), columns);
+		int bottom = clamp((int)Math.floor((y + component.size.height) / CELL_SIZE), rows);
+		if (x + component.size.width >= 0 && y + component.size.height >= 0)
+			for (int row = top; row <= bottom; ++row)
+				for (int column = left; column <= right; ++column)
+					cells[row * columns + column].add(component);
+
+		if (component.children != null)
+			for (int i = 0; i < component.children.size(); ++i)
+				insert(component.children.get(i));
+	}
+
+	private static int clamp(int value, int length)
+	{
+		return value < 0 ? 0 : (value >= length ? length - 1 : value);
+	}
+
+	/**
+	 * A single grid cell, holding the components that overlap it in draw order.
+	 */
+	private static class Cell
+	{
+		TGUIComponent items[] = new TGUIComponent[4];
+		int count;
+
+		void add(TGUIComponent component)
+		{
+			if (count == items.length)
+				items = Arrays.copyOf(items, count * 2);
+			items[count++] = component;
+		}
+
+		void clear()
+		{
+			Arrays.fill(items, 0, count, null);
+			count = 0;
+		}
+	}
+}
@@ -0,0 +1,446 @@
+package tl.GUI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.newdawn.slick.Graphics;
+
+import tl.GUI.TGUIComponent.ComponentType;
+
+/**
+ * TGUIProfiler records how long each component of a single TGUI takes to update, change, draw and handle input, frame
+ * by frame.<br>
+ * It is off by default, and can be turned on and off from any thread. The TGUI only starts or stops profiling at the
+ * start of a frame, and while it is off the only cost to a component is checking that there is no profiler to report to.<br>
+ * Frames are kept in a ring of preallocated buffers, so the last few frames can be looked at while new ones are
+ * recorded over the oldest. Update times are self times: the time spent in a component's children is taken off its
+ * parent's time. Draw primitives can only be counted when the TGUI is drawn through a render backend, and are 0
+ * otherwise.
+ * @since 2.3
+ * @see TGUI#getProfiler()
+ */
+public class TGUIProfiler
+{
+	/**
+	 * The number of frames kept by default.
+	 */
+	public static final int DEFAULT_FRAMES = 120;
+
+	private final Frame frames[];
+	/**
+	 * The frame being recorded.
+	 */
+	private int current;
+	/**
+	 * A number given to every recorded frame, so components can tell whether their slot belongs to the current frame.
+	 */
+	private long serial;
+	/**
+	 * The number of frames that have been completed since profiling was last turned on.
+	 */
+	private int completed;
+	private volatile boolean enabled;
+	private long frameStart;
+	private long stackStart[];
+	private long stackChildren[];
+	private int depth;
+
+	/**
+	 * TGUIProfiler's constructor, keeping {@link #DEFAULT_FRAMES} frames.
+	 */
+	public TGUIProfiler()
+	{
+		this(DEFAULT_FRAMES);
+	}
+
+	/**
+	 * TGUIProfiler's constructor.
+	 * @param frameCount - The number of frames to keep. Must be at least 2, one of which is always being recorded.
+	 * @throws TGUIException - If frameCount is less than 2.
+	 */
+	public TGUIProfiler(int frameCount) throws TGUIException
+	{
+		if (frameCount < 2)
+			throw new TGUIException("frameCount [" + frameCount + "] must be at least 2.");
+		frames = new Frame[frameCount];
+		for (int i = 0; i < frameCount; ++i)
+			frames[i] = new Frame();
+		stackStart = new long[32];
+		stackChildren = new long[32];
+		serial = 1;
+	}
+
+	/**
+	 * Turns profiling on or off, from the start of the TGUI's next frame. Can be called from any thread.
+	 * @param enabled - True to turn profiling on.
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return - True if profiling has been turned on.
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * @return - The number of completed frames that can be looked at, the newest being 0 frames ago.
+	 */
+	public int getFrameCount()
+	{
+		return Math.min(completed, frames.length - 1);
+	}
+
+	/**
+	 * @param framesAgo - The frame to look at. 0 is the last completed frame.
+	 * @return - The time in nanoseconds from the start of the frame's update to the end of it.
+	 * @throws TGUIException - If the frame isn't kept any more.
+	 */
+	public long getFrameNanos(int framesAgo) throws TGUIException
+	{
+		return frame(framesAgo).nanos;
+	}
+
+	/**
+	 * @param framesAgo - The frame to look at. 0 is the last completed frame.
+	 * @param type - The type of component.
+	 * @return - The time in nanoseconds spent updating and sending input to components of the type in the frame.
+	 * @throws TGUIException - If the frame isn't kept any more.
+	 */
+	public long getTypeNanos(int framesAgo, ComponentType type) throws TGUIException
+	{
+		return frame(framesAgo).typeNanos[type.ordinal()];
+	}
+
+	/**
+	 * @param framesAgo - The frame to look at. 0 is the last completed frame.
+	 * @param type - The type of component.
+	 * @return - The number of times components of the type were updated or sent input in the frame.
+	 * @throws TGUIException - If the frame isn't kept any more.
+	 */
+	public int getTypeCalls(int framesAgo, ComponentType type) throws TGUIException
+	{
+		return frame(framesAgo).typeCalls[type.ordinal()];
+	}
+
+	/**
+	 * Finds the components that took the longest in a frame, counting their update self time and their input time.
+	 * @param framesAgo - The frame to look at. 0 is the last completed frame.
+	 * @param count - The most components to return.
+	 * @return - Up to count samples, from the most expensive component to the least.
+	 * @throws TGUIException - If the frame isn't kept any more.
+	 */
+	public List<Sample> getHotspots(int framesAgo, int count) throws TGUIException
+	{
+		Frame frame = frame(framesAgo);
+		List<Sample> hotspots = new ArrayList<Sample>();
+		if (count <= 0)
+			return hotspots;
+		PriorityQueue<Sample> top = new PriorityQueue<Sample>(count);
+		for (int i = 0; i < frame.count; ++i)
+		{
+			long cost = frame.selfNanos[i] + frame.inputNanos[i];
+			if (top.size() == count && top.peek().getTotalNanos() >= cost)
+				continue;
+			if (top.size() == count)
+				top.poll();
+			top.add(new Sample(frame, i));
+		}
+		hotspots.addAll(top);
+		Collections.sort(hotspots, Collections.reverseOrder());
+		return hotspots;
+	}
+
+	/**
+	 * Clears the frame being recorded, when profiling is turned on.
+	 */
+	void restart()
+	{
+		frames[current].reset();
+		completed = 0;
+	}
+
+	void beginFrame()
+	{
+		depth = 0;
+		frameStart = System.nanoTime();
+	}
+
+	void endFrame()
+	{
+		Frame frame = frames[current];
+		frame.nanos = System.nanoTime() - frameStart;
+		current = (current + 1) % frames.length;
+		++serial;
+		++completed;
+		frames[current].reset();
+	}
+
+	/**
+	 * Called as a component starts updating.
+	 */
+	void enter()
+	{
+		if (depth == stackStart.length)
+		{
+			stackStart = Arrays.copyOf(stackStart, depth * 2);
+			stackChildren = Arrays.copyOf(stackChildren, depth * 2);
+		}
+		stackChildren[depth] = 0;
+		stackStart[depth++] = System.nanoTime();
+	}
+
+	/**
+	 * Called as a component finishes updating, along with its children.
+	 */
+	void exit(TGUIComponent component)
+	{
+		long inclusive = System.nanoTime() - stackStart[--depth];
+		long self = inclusive - stackChildren[depth];
+		if (depth > 0)
+			stackChildren[depth - 1] += inclusive;
+		Frame frame = frames[current];
+		int slot = frame.slot(component, serial);
+		frame.selfNanos[slot] += self;
+		++frame.updates[slot];
+		frame.typeNanos[component.type.ordinal()] += self;
+		++frame.typeCalls[component.type.ordinal()];
+	}
+
+	void change(TGUIComponent component, long nanos)
+	{
+		Frame frame = frames[current];
+		int slot = frame.slot(component, serial);
+		frame.changeNanos[slot] += nanos;
+		++frame.changes[slot];
+	}
+
+	/**
+	 * Called after a component has drawn, with the size of the command buffer it drew into beforehand, or -1.
+	 */
+	void draw(TGUIComponent component, long nanos, Graphics g, int before)
+	{
+		Frame frame = frames[current];
+		int slot = frame.slot(component, serial);
+		frame.drawNanos[slot] += nanos;
+		++frame.draws[slot];
+		if (before >= 0)
+		{
+			TRenderCommandBuffer buffer = (TRenderCommandBuffer)g;
+			int primitives = 0;
+			for (int i = before; i < buffer.size(); ++i)
+			{
+				byte op = buffer.getCommand(i);
+				if (op != TRenderCommandBuffer.COLOUR && op != TRenderCommandBuffer.FONT)
+					++primitives;
+			}
+			frame.primitives[slot] += primitives;
+		}
+	}
+
+	void input(TGUIComponent component, long nanos)
+	{
+		Frame frame = frames[current];
+		int slot = frame.slot(component, serial);
+		frame.inputNanos[slot] += nanos;
+		++frame.inputs[slot];
+		frame.typeNanos[component.type.ordinal()] += nanos;
+		++frame.typeCalls[component.type.ordinal()];
+	}
+
+	private Frame frame(int framesAgo) throws TGUIException
+	{
+		int available = getFrameCount();
+		if (framesAgo < 0 || framesAgo >= available)
+			throw new TGUIException("frame " + framesAgo + " out of bounds! [" + available + "]");
+		return frames[((current - 1 - framesAgo) % frames.length + frames.length) % frames.length];
+	}
+
+	/**
+	 * What a single component cost in a single frame.
+	 */
+	public static final class Sample implements Comparable<Sample>
+	{
+		private final TGUIComponent component;
+		private final long updateNanos;
+		private final long changeNanos;
+		private final long drawNanos;
+		private final long inputNanos;
+		private final int updates;
+		private final int changes;
+		private final int draws;
+		private final int primitives;
+		private final int inputs;
+
+		private Sample(Frame frame, int slot)
+		{
+			component = frame.components[slot];
+			updateNanos = frame.selfNanos[slot];
+			changeNanos = frame.changeNanos[slot];
+			drawNanos = frame.drawNanos[slot];
+			inputNanos = frame.inputNanos[slot];
+			updates = frame.updates[slot];
+			changes = frame.changes[slot];
+			draws = frame.draws[slot];
+			primitives = frame.primitives[slot];
+			inputs = frame.inputs[slot];
+		}
+
+		public TGUIComponent getComponent()
+		{
+			return component;
+		}
+
+		public ComponentType getType()
+		{
+			return component.getType();
+		}
+
+		/**
+		 * @return - The time in nanoseconds spent updating the component, not counting its children. Includes the change and draw times.
+		 */
+		public long getUpdateNanos()
+		{
+			return updateNanos;
+		}
+
+		public long getChangeNanos()
+		{
+			return changeNanos;
+		}
+
+		public long getDrawNanos()
+		{
+			return drawNanos;
+		}
+
+		public long getInputNanos()
+		{
+			return inputNanos;
+		}
+
+		/**
+		 * @return - The update self time plus the input time, which hotspots are ranked by.
+		 */
+		public long getTotalNanos()
+		{
+			return updateNanos + inputNanos;
+		}
+
+		public int getUpdates()
+		{
+			return updates;
+		}
+
+		public int getChanges()
+		{
+			return changes;
+		}
+
+		public int getDraws()
+		{
+			return draws;
+		}
+
+		/**
+		 * @return - The number of shapes, lines, strings and images drawn, or 0 if the TGUI wasn't drawn through a render backend.
+		 */
+		public int getPrimitives()
+		{
+			return primitives;
+		}
+
+		public int getInputs()
+		{
+			return inputs;
+		}
+
+		public int compareTo(Sample other)
+		{
+			return Long.compare(getTotalNanos(), other.getTotalNanos());
+		}
+
+		public String toString()
+		{
+			return component.getType().toString() + "[" + component.getID() + "]: " + getTotalNanos() + "ns (update " + updateNanos
+					+ ", change " + changeNanos + " x" + changes + ", draw " + drawNanos + " x" + draws + ", input " + inputNanos
+					+ " x" + inputs + ", primitives " + primitives + ")";
+		}
+	}
+
+	/**
+	 * The samples of a single frame, in parallel arrays that are reused every time the frame comes round again.
+	 */
+	private static final class Frame
+	{
+		long nanos;
+		int count;
+		TGUIComponent components[] = new TGUIComponent[64];
+		long selfNanos[] = new long[64];
+		long changeNanos[] = new long[64];
+		long drawNanos[] = new long[64];
+		long inputNanos[] = new long[64];
+		int updates[] = new int[64];
+		int changes[] = new int[64];
+		int draws[] = new int[64];
+		int primitives[] = new int[64];
+		int inputs[] = new int[64];
+		final long typeNanos[] = new long[ComponentType.values().length];
+		final int typeCalls[] = new int[ComponentType.values().length];
+
+		/**
+		 * @return - The slot of the component in this frame, given one if it doesn't have one yet.
+		 */
+		int slot(TGUIComponent component, long serial)
+		{
+			if (component.profileFrame == serial)
+				return component.profileSlot;
+			if (count == components.length)
+				grow(count * 2);
+			int slot = count++;
+			components[slot] = component;
+			component.profileFrame = serial;
+			component.profileSlot = slot;
+			return slot;
+		}
+
+		void reset()
+		{
+			Arrays.fill(components, 0, count, null);
+			Arrays.fill(selfNanos, 0, count, 0);
+			Arrays.fill(changeNanos, 0, count, 0);
+			Arrays.fill(drawNanos, 0, count, 0);
+			Arrays.fill(inputNanos, 0, count, 0);
+			Arrays.fill(updates, 0, count, 0);
+			Arrays.fill(changes, 0, count, 0);
+			Arrays.fill(draws, 0, count, 0);
+			Arrays.fill(primitives, 0, count, 0);
+			Arrays.fill(inputs, 0, count, 0);
+			Arrays.fill(typeNanos, 0);
+			Arrays.fill(typeCalls, 0);
+			count = 0;
+			nanos = 0;
+		}
+
+		private void grow(int capacity)
+		{
+			components = Arrays.copyOf(components, capacity);
+			selfNanos = Arrays.copyOf(selfNanos, capacity);
+			changeNanos = Arrays.copyOf(changeNanos, capacity);
+			drawNanos = Arrays.copyOf(drawNanos, capacity);
+			inputNanos = Arrays.copyOf(inputNanos, capacity);
+			updates = Arrays.copyOf(updates, capacity);
+			changes = Arrays.copyOf(changes, capacity);
+			draws = Arrays.copyOf(draws, capacity);
+			primitives = Arrays.copyOf(primitives, capacity);
+			inputs = Arrays.copyOf(inputs, capacity);
+		}
+	}
+}
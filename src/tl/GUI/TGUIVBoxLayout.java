@@ -24,14 +24,28 @@ public class TGUIVBoxLayout extends TGUILayout
 		super.addSpacing(spacing);
 	}
 	
-	public void pOrganise()
+	protected void pMeasure()
+	{
+		TSize parentSize = getParentSize();
+		int total = stretch ? childSizes(parentSize, TEDirection.TOP_TO_BOTTOM) : 0;
+		int largestWidth = 0;
+		float height = space;
+		for (TGUIObject component : components)
+		{
+			height += (stretch ? total : component.size.height) + space;
+			if (largestWidth < component.size.width)
+				largestWidth = component.size.width;
+		}
+		size.set(stretch ? parentSize.width - (int)position.x : largestWidth, (int)height);
+	}
+	
+	protected void pArrange()
 	{
 		if (TGUIManager.debug)
 			System.out.println("vertical org:");
 		TSize parentSize = getParentSize();
-		int largestWidth = 0;
 		
-		int total = childSizes(parentSize, TEDirection.TOP_TO_BOTTOM);
+		int total = stretch ? childSizes(parentSize, TEDirection.TOP_TO_BOTTOM) : 0;
 		if (TGUIManager.debug)
 			System.out.println("total " + total);
 		float itr = position.y + space;
@@ -39,52 +53,40 @@ public class TGUIVBoxLayout extends TGUILayout
 		{
 			if (stretch)
 				component.setSize(parentSize.width - (int)position.x - space * 2, total);
-			component.setPosition(!stretch ? component.getPosition().x : position.x + space, itr);
+			component.setPosition(!stretch ? component.position.x : position.x + space, itr);
 			if (TGUIManager.debug)
 				System.out.println("pos: " + component.getPosition().toFormattedString() + " size: " + component.getSize().toFormattedString());
-			itr += component.getSize().height + space;
-			int width = component.getSize().width;
-			if (largestWidth < width)
-				largestWidth = width;
+			itr += component.size.height + space;
 		}
-		size.set(stretch ? parentSize.width - (int)position.x : largestWidth, (int)(itr - position.y));
 	}
 	
 	public void setPosition(float x, float y)
 	{
-		TPoint other = new TPoint(x, y);
-		TPoint diff = other.subtract(position);
-		super.setPosition(other);
+		float dx = x - position.x;
+		float dy = y - position.y;
+		super.setPosition(x, y);
 		
 		for (TGUIObject component : components)
-			component.setPosition(component.getPosition().add(diff));
+			component.setPosition(component.position.x + dx, component.position.y + dy);
 	}
 	
 	public void setPosition(TPoint position)
 	{
-		TPoint other = new TPoint(position);
-		TPoint diff = other.subtract(this.position);
-		super.setPosition(other);
-		
-		for (TGUIObject component : components)
-			component.setPosition(component.getPosition().add(diff));
+		setPosition(position.x, position.y);
 	}
 	
 	public void setSize(int width, int height)
 	{
-		TSize size = new TSize(width, height);
 		float percentage = this.size.height / height;
 		if (TGUIManager.debug)
 			System.out.println("perc: " + percentage);
-		super.setSize(this.size.width, size.height);
+		super.setSize(this.size.width, height);
 
 		float i = 0;
 		for (TGUIObject component : components)
 		{
-			TSize comp = new TSize(component.getSize());
-			component.setSize(comp.width, (int)(comp.height * percentage));
-			TPoint pos = component.getPosition();
-			component.setPosition(pos.x, pos.y * (i * percentage));
+			component.setSize(component.size.width, (int)(component.size.height * percentage));
+			component.setPosition(component.position.x, component.position.y * (i * percentage));
 			++i;
 		}
 	}
@@ -99,10 +101,8 @@ public class TGUIVBoxLayout extends TGUILayout
 		float i = 0;
 		for (TGUIObject component : components)
 		{
-			TSize comp = new TSize(component.getSize());
-			component.setSize(comp.width, (int)(comp.height * percentage));
-			TPoint pos = component.getPosition();
-			component.setPosition(pos.x, pos.y * (i * percentage));
+			component.setSize(component.size.width, (int)(component.size.height * percentage));
+			component.setPosition(component.position.x, component.position.y * (i * percentage));
 			++i;
 		}
 	}
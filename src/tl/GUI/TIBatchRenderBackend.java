@@ -0,0 +1,38 @@
+package tl.GUI;
+
+import org.newdawn.slick.Image;
+
+/**
+ * A TIBatchRenderBackend can draw many primitives of the same kind in a single call, with the current colour.<br>
+ * {@link TBatchingRenderBackend} uses these calls for its batches when the backend it draws through implements them.
+ * @since 2.3
+ * @see TBatchingRenderBackend
+ */
+public interface TIBatchRenderBackend extends TIRenderBackend
+{
+	/**
+	 * Fills a number of rects with the current colour.
+	 * @param rects - The rects, as x, y, width, height.
+	 * @param count - The number of rects.
+	 */
+	public void fillRects(float rects[], int count);
+	
+	/**
+	 * Draws a number of lines with the current colour.
+	 * @param lines - The lines, as x1, y1, x2, y2.
+	 * @param count - The number of lines.
+	 */
+	public void drawLines(float lines[], int count);
+	
+	/**
+	 * Draws an image a number of times, with its colours multiplied by a filter colour.
+	 * @param image - The image to draw.
+	 * @param positions - The positions to draw the image at, as x, y.
+	 * @param count - The number of positions.
+	 * @param r - The red component of the filter.
+	 * @param g - The green component of the filter.
+	 * @param b - The blue component of the filter.
+	 * @param a - The alpha component of the filter.
+	 */
+	public void drawImages(Image image, float positions[], int count, float r, float g, float b, float a);
+}
@@ -0,0 +1,58 @@
+package tl.GUI;
+
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Image;
+
+/**
+ * A TIRenderBackend draws the commands recorded in a {@link TRenderCommandBuffer}.<br>
+ * Positions are in screen pixels and colours are in the range 0 to 1. A backend only has to keep the current colour
+ * and font, everything else is passed with each call.
+ * @since 2.3
+ * @see TRenderCommandBuffer#replay(TIRenderBackend)
+ * @see TSlickRenderBackend
+ * @see TJava2DRenderBackend
+ * @see TCountingRenderBackend
+ */
+public interface TIRenderBackend
+{
+	/**
+	 * Called before the commands of a frame are replayed.
+	 */
+	public void begin();
+	
+	/**
+	 * Called after the commands of a frame have been replayed.
+	 */
+	public void end();
+	
+	public void setColour(float r, float g, float b, float a);
+	
+	public void setFont(Font font);
+	
+	public void fillRect(float x, float y, float width, float height);
+	
+	public void drawRect(float x, float y, float width, float height);
+	
+	public void drawLine(float x1, float y1, float x2, float y2);
+	
+	public void drawString(String text, float x, float y);
+	
+	/**
+	 * Draws an image, with its colours multiplied by a filter colour.
+	 * @param image - The image to draw.
+	 * @param x - The x position to draw the image at.
+	 * @param y - The y position to draw the image at.
+	 * @param r - The red component of the filter.
+	 * @param g - The green component of the filter.
+	 * @param b - The blue component of the filter.
+	 * @param a - The alpha component of the filter.
+	 */
+	public void drawImage(Image image, float x, float y, float r, float g, float b, float a);
+	
+	/**
+	 * Draws a closed polygon.
+	 * @param points - The points of the polygon, as x, y pairs.
+	 * @param filled - True to fill the polygon, false to only draw its outline.
+	 */
+	public void drawPolygon(float points[], boolean filled);
+}
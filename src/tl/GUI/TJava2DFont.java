@@ -0,0 +1,72 @@
+package tl.GUI;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Font;
+
+/**
+ * TJava2DFont is a Slick Font backed by a java.awt.Font, so that text can be measured and laid out without a GL context.
+ * <br>
+ * It can be passed to {@link TGUIManager#init(org.newdawn.slick.Input, int, int, Font)} when the GUI is drawn through
+ * a {@link TJava2DRenderBackend} or a {@link TCountingRenderBackend}. It can't be drawn by Slick, so its drawString 
+ * methods do nothing.
+ * @since 2.3
+ * @see TJava2DRenderBackend
+ */
+public class TJava2DFont implements Font
+{
+	private final java.awt.Font font;
+	private final FontMetrics metrics;
+
+	/**
+	 * TJava2DFont's constructor.
+	 * @param font - The AWT font to measure and draw with.
+	 */
+	public TJava2DFont(java.awt.Font font)
+	{
+		this.font = font;
+		Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		metrics = g.getFontMetrics(font);
+		g.dispose();
+	}
+
+	/**
+	 * @return - The AWT font.
+	 */
+	public java.awt.Font getAWTFont()
+	{
+		return font;
+	}
+
+	/**
+	 * @return - The distance from the top of a line to its baseline.
+	 */
+	public int getAscent()
+	{
+		return metrics.getAscent();
+	}
+
+	public int getWidth(String str)
+	{
+		return metrics.stringWidth(str);
+	}
+
+	public int getHeight(String str)
+	{
+		return metrics.getHeight();
+	}
+
+	public int getLineHeight()
+	{
+		return metrics.getHeight();
+	}
+
+	public void drawString(float x, float y, String text) {}
+
+	public void drawString(float x, float y, String text, Color col) {}
+
+	public void drawString(float x, float y, String text, Color col, int startIndex, int endIndex) {}
+}
@@ -0,0 +1,138 @@
+package tl.GUI;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Image;
+
+/**
+ * TJava2DRenderBackend draws recorded commands onto a BufferedImage, so the GUI can be drawn without a GL context.<br>
+ * Text is drawn with the AWT font of a {@link TJava2DFont}, or the default AWT font for any other Font. Slick images 
+ * can't be read without GL, so images are drawn as an outline of their size in the filter colour.
+ * @since 2.3
+ * @see TIRenderBackend
+ */
+public class TJava2DRenderBackend implements TIRenderBackend
+{
+	private final BufferedImage image;
+	private Graphics2D graphics;
+	private java.awt.Color colour = java.awt.Color.white;
+	private java.awt.Font font;
+	private java.awt.Font defaultFont;
+	private int ascent;
+
+	/**
+	 * TJava2DRenderBackend's constructor.
+	 * @param width - The width of the image to draw on.
+	 * @param height - The height of the image to draw on.
+	 */
+	public TJava2DRenderBackend(int width, int height)
+	{
+		this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+	}
+
+	/**
+	 * TJava2DRenderBackend's constructor.
+	 * @param image - The image to draw on.
+	 */
+	public TJava2DRenderBackend(BufferedImage image)
+	{
+		this.image = image;
+	}
+
+	/**
+	 * @return - The image that is drawn on.
+	 */
+	public BufferedImage getImage()
+	{
+		return image;
+	}
+
+	/**
+	 * Clears the image to transparent.
+	 */
+	public void begin()
+	{
+		graphics = image.createGraphics();
+		defaultFont = graphics.getFont();
+		graphics.setComposite(AlphaComposite.Clear);
+		graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+		graphics.setComposite(AlphaComposite.SrcOver);
+		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		colour = java.awt.Color.white;
+		graphics.setColor(colour);
+		setFont(null);
+	}
+
+	public void end()
+	{
+		graphics.dispose();
+		graphics = null;
+	}
+
+	public void setColour(float r, float g, float b, float a)
+	{
+		colour = new java.awt.Color(clamp(r), clamp(g), clamp(b), clamp(a));
+		graphics.setColor(colour);
+	}
+
+	public void setFont(Font font)
+	{
+		this.font = font instanceof TJava2DFont ? ((TJava2DFont)font).getAWTFont() : defaultFont;
+		graphics.setFont(this.font);
+		ascent = graphics.getFontMetrics(this.font).getAscent();
+	}
+
+	public void fillRect(float x, float y, float width, float height)
+	{
+		graphics.fill(new Rectangle2D.Float(x, y, width, height));
+	}
+
+	public void drawRect(float x, float y, float width, float height)
+	{
+		graphics.draw(new Rectangle2D.Float(x, y, width, height));
+	}
+
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		graphics.draw(new Line2D.Float(x1, y1, x2, y2));
+	}
+
+	public void drawString(String text, float x, float y)
+	{
+		graphics.drawString(text, x, y + ascent);
+	}
+
+	public void drawImage(Image image, float x, float y, float r, float g, float b, float a)
+	{
+		graphics.setColor(new java.awt.Color(clamp(r), clamp(g), clamp(b), clamp(a * image.getAlpha())));
+		graphics.draw(new Rectangle2D.Float(x, y, image.getWidth(), image.getHeight()));
+		graphics.setColor(colour);
+	}
+
+	public void drawPolygon(float points[], boolean filled)
+	{
+		if (points.length < 4)
+			return;
+		Path2D.Float path = new Path2D.Float();
+		path.moveTo(points[0], points[1]);
+		for (int i = 2; i < points.length; i += 2)
+			path.lineTo(points[i], points[i + 1]);
+		path.closePath();
+		if (filled)
+			graphics.fill(path);
+		else
+			graphics.draw(path);
+	}
+
+	private static float clamp(float value)
+	{
+		return value < 0 ? 0 : (value > 1 ? 1 : value);
+	}
+}
@@ -17,40 +17,38 @@ public class TLabel extends TGUIComponent
 	protected TEAlignment textAlign;
 	protected int fontHeight;
 	protected int gap = 2; // change this or something
-	LinkedList<Split> lineList;
+	/**
+	 * The wrapped lines of the text, shared through {@link TGUIManager#textLayouts}.
+	 * @see #layout()
+	 */
+	TTextLayout textLayout;
 	public final Color font_colour = new Color(TGUIManager.BLACK);
 	
 	protected TGUITextEvent textChange;
 	
-	@SuppressWarnings("deprecation")
 	public TLabel()
 	{
 		super();
 		type = ComponentType.label;
 		textAlign = TEAlignment.CENTRE_LEFT;
-		lineList = new LinkedList<Split>();
-		fontHeight = TGUIManager.guiFont.getHeight();
+		fontHeight = TGUIManager.getFontMetrics().getLineHeight();
 	}
 
-	@SuppressWarnings("deprecation")
 	public TLabel(TGUIComponent parent)
 	{
 		super(parent);
 		type = ComponentType.label;
 		textAlign = TEAlignment.CENTRE_LEFT;
-		lineList = new LinkedList<Split>();
-		fontHeight = TGUIManager.guiFont.getHeight();
+		fontHeight = TGUIManager.getFontMetrics().getLineHeight();
 		text = "";
 	}
 
-	@SuppressWarnings("deprecation")
 	public TLabel(TGUIComponent parent, float x, float y, int width, int height, String t) throws SlickException
 	{
 		super(parent, x, y, width, height);
 		type = ComponentType.label;
 		textAlign = TEAlignment.CENTRE_LEFT;
-		lineList = new LinkedList<Split>();
-		fontHeight = TGUIManager.guiFont.getHeight(t);
+		fontHeight = TGUIManager.getFontMetrics().getHeight(t);
 		text = t;
 		changed = true;
 	}
@@ -69,62 +67,36 @@ public class TLabel extends TGUIComponent
 		Split(String l, int w, int h) { line = l; size = new TSize(w, h); pos = new TPoint(); }
 	}
 	
-	@SuppressWarnings("deprecation")
+	/**
+	 * Fills a list with the lines of this label's text, as they are drawn.
+	 * @param list - The list to add the lines to.
+	 */
 	protected void fillListWithLines(LinkedList<Split> list)
 	{
-		toDraw = text;
-		LinkedList<Split> brackets = new LinkedList<>(); // add all the new lines depending on any new line symbols in the text ([[)
-		if (toDraw.contains("[["))
+		TTextLayout layout = layout();
+		float offset = TLineBreaker.alignY(textAlign, size.height, layout.getHeight());
+		for (int i = 0; i < layout.getLineCount(); ++i)
 		{
-			while (toDraw.contains("[["))
-			{
-				int i = toDraw.indexOf("[[");
-				final String s = toDraw.substring(0, i);
-				brackets.add(new Split(s, TGUIManager.guiFont.getWidth(s), TGUIManager.guiFont.getHeight(s)));
-				toDraw = toDraw.substring(i + 2);
-			}
-			brackets.add(new Split(toDraw, TGUIManager.guiFont.getWidth(toDraw), TGUIManager.guiFont.getHeight(toDraw)));
-		}
-		else
-			brackets.add(new Split(toDraw, TGUIManager.guiFont.getWidth(toDraw), TGUIManager.guiFont.getHeight(toDraw)));
-		
-		int i = 0;
-		for (Split split : brackets) // go through the new lines, create new lines depending on wrapping, store them in list
-		{
-			if (split.size.width >= size.width) // check the final part, is it greater than the width?
-			{
-				String cut[] = split.line.split(" ");
-				String word = new String();
-				for (String n : cut)
-				{
-					if (TGUIManager.guiFont.getWidth(word + " " + n) < size.width)
-						word += n + " ";
-					else
-					{
-						list.add(new Split(word, TGUIManager.guiFont.getWidth(word), TGUIManager.guiFont.getHeight(word)));
-						word = n + " ";
-					}
-				}
-				int width = TGUIManager.guiFont.getWidth(cut[cut.length - 1]);
-				int height = TGUIManager.guiFont.getHeight(cut[cut.length - 1]);
-				list.add(new Split(cut[cut.length - 1], width, height));
-				list.getLast().pos.set(textAlign == TEAlignment.CENTRE_LEFT ? 0 : (textAlign == TEAlignment.CENTRE_RIGHT ? size.width - width - 1 : (size.width / 2) - (width / 2)), i * fontHeight + ((i + 1) * gap));
-			}
-			else
-			{
-				int width = TGUIManager.guiFont.getWidth(split.line);
-				int height = TGUIManager.guiFont.getHeight(split.line);
-				list.add(new Split(split.line, width, height));
-				list.getLast().pos.set(textAlign == TEAlignment.CENTRE_LEFT ? 0 : (textAlign == TEAlignment.CENTRE_RIGHT ? size.width - width - 1 : (size.width / 2) - (width / 2)), i * fontHeight + ((i + 1) * gap));
-			}
-			++i;
+			list.add(new Split(layout.getLine(i), layout.getLineWidth(i), fontHeight));
+			list.getLast().pos.set(layout.getLineX(i), offset + layout.getLineY(i));
 		}
 	}
 	
+	/**
+	 * Finds the layout of this label's text from {@link TGUIManager#textLayouts}. The text is only wrapped again if 
+	 * it, the font, the width, the alignment or the line spacing have changed since the last call.
+	 * @return - The layout.
+	 */
+	protected TTextLayout layout()
+	{
+		if (textLayout == null || !textLayout.matches(text, TGUIManager.guiFont, size.width, textAlign, fontHeight, gap))
+			textLayout = TGUIManager.textLayouts.get(text, TGUIManager.guiFont, size.width, textAlign, fontHeight, gap);
+		return textLayout;
+	}
+	
 	protected void change()
 	{
-		lineList.clear();
-		fillListWithLines(lineList);
+		layout();
 		font_colour.a = alpha;
 		changed = false;
 	}
@@ -153,8 +125,10 @@ public class TLabel extends TGUIComponent
 		
 		g.setFont(TGUIManager.guiFont);
 		g.setColor(font_colour);
-		for (Split s : lineList)
-			g.drawString(s.line, screenPos.x + s.pos.x, screenPos.y + s.pos.y);
+		TTextLayout layout = layout();
+		float y = screenPos.y + TLineBreaker.alignY(textAlign, size.height, layout.getHeight());
+		for (int i = 0; i < layout.getLineCount(); ++i)
+			g.drawString(layout.getLine(i), screenPos.x + layout.getLineX(i), y + layout.getLineY(i));
 		if (TGUIManager.debug)
 		{
 			g.setColor(TGUIManager.YELLOW);
@@ -175,12 +149,12 @@ public class TLabel extends TGUIComponent
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -223,16 +197,7 @@ public class TLabel extends TGUIComponent
 	
 	public int getWidthOfText()
 	{
-		LinkedList<Split> list = new LinkedList<Split>();
-		fillListWithLines(list);
-		
-		int biggest = 0;
-		for (Split s : list)
-		{
-			if (biggest < s.size.width)
-				biggest = s.size.width;
-		}
-		return biggest;
+		return layout().getWidth();
 	}
 	
 	public void setText(String text)
@@ -252,6 +217,7 @@ public class TLabel extends TGUIComponent
 	public void setAlignment(TEAlignment alignment)
 	{
 		textAlign = alignment;
+		changed = true;
 	}
 	
 	public String getText()
@@ -1,91 +1,424 @@
-/*
- * NOTE:
- * isnt finished
- * needs the check variable to check if the extended label needs updating
- */
-
 package tl.GUI;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
 
 import org.newdawn.slick.Graphics;
-import org.newdawn.slick.Image;
 import org.newdawn.slick.SlickException;
 
-public class TLabelExtended extends TLabel
+import tl.Util.TSize;
+
+/**
+ * TLabelExtended is a label for text that keeps growing, such as chat logs and consoles.<br>
+ * Its text is kept in a char array and wrapped into an index of lines, each one a span of the text. Appending only
+ * wraps the new text and the last paragraph it joins onto, so the cost of an append doesn't depend on how much text
+ * came before it. Drawing only touches the lines that can be seen, so it costs the same for 10 lines as for 100,000.
+ * <br>
+ * By default the label grows to fit its text, and only the lines on screen are drawn. Given a height, the label stays
+ * that size instead and scrolls through its lines with the mouse wheel, sticking to the last line while it is scrolled
+ * to the bottom.
+ * @see TLabel
+ */
+public class TLabelExtended extends TLabel implements TIGUIScrollable
 {
-	public static final ComponentType type = ComponentType.labelExtended;
-	private int height;
-	
+	private char chars[];
+	private int length;
+	/**
+	 * The text as a String, only built when asked for.
+	 */
+	private String cached;
+	private int starts[];
+	private int ends[];
+	private int widths[];
+	private int lineCount;
+	private int widest;
+	/**
+	 * The index in the text where the last paragraph starts, and the first line of that paragraph. Appended text can
+	 * only change the lines from here on.
+	 */
+	private int paragraphStart;
+	private int paragraphLine;
+	private final TLineBreaker breaker;
+	private boolean autoHeight;
+	private int firstLine;
+	private boolean stickToBottom;
+	/**
+	 * The Strings of the lines drawn last frame, so that lines that stay on screen aren't cut out of the text again.
+	 */
+	private String visibleText[];
+	private int visibleIndex[];
+
+	/**
+	 * TLabelExtended's constructor. The label grows to fit its text.
+	 * @param parent - The parent of this label. Can be null.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @param w - The width to wrap the text to.
+	 * @param t - The text.
+	 * @throws SlickException
+	 */
 	public TLabelExtended(TGUIComponent parent, float x, float y, int w, String t) throws SlickException
 	{
-		super(parent, x, y, w, 0, t);
-		
-		toDraw = text;
-		int h = 1;
-		if (toDraw.contains("[["))
+		this(parent, x, y, w, 0, t);
+		setAutoHeight(true);
+	}
+
+	/**
+	 * TLabelExtended's constructor. The label stays the given height, and scrolls through its text.
+	 * @param parent - The parent of this label. Can be null.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @param w - The width to wrap the text to.
+	 * @param h - The height.
+	 * @param t - The text.
+	 * @throws SlickException
+	 */
+	public TLabelExtended(TGUIComponent parent, float x, float y, int w, int h, String t) throws SlickException
+	{
+		super(parent, x, y, w, h, "");
+		type = ComponentType.labelExtended;
+		textAlign = TEAlignment.TOP_LEFT;
+		fontHeight = TGUIManager.getFontMetrics().getLineHeight();
+		chars = new char[Math.max(64, t.length())];
+		starts = new int[16];
+		ends = new int[16];
+		widths = new int[16];
+		visibleText = new String[0];
+		visibleIndex = new int[0];
+		breaker = new TLineBreaker();
+		stickToBottom = true;
+		text = null;
+		append(t);
+	}
+
+	/**
+	 * Adds text to the end of the label. Only the new text, and the paragraph it continues, are wrapped.
+	 * @param t - The text to add.
+	 * @throws TGUIException - If the text is NULL.
+	 */
+	public void append(CharSequence t) throws TGUIException
+	{
+		if (t == null)
+			throw new TGUIException(type.toString() + "[" + ID + "]: text is NULL!");
+		int added = t.length();
+		if (length + added > chars.length)
+			chars = Arrays.copyOf(chars, Math.max(length + added, chars.length * 2));
+		for (int i = 0; i < added; ++i)
+			chars[length + i] = t.charAt(i);
+		length += added;
+		cached = null;
+		wrapFrom(paragraphStart, paragraphLine);
+		fitHeight();
+		if (stickToBottom)
+			firstLine = maxFirstLine();
+		changed = true;
+	}
+
+	/**
+	 * Adds text to the end of the label, on a new line.
+	 * @param t - The text to add.
+	 * @throws TGUIException - If the text is NULL.
+	 */
+	public void appendLine(CharSequence t) throws TGUIException
+	{
+		if (t == null)
+			throw new TGUIException(type.toString() + "[" + ID + "]: text is NULL!");
+		append(length == 0 ? t : "\n" + t);
+	}
+
+	/**
+	 * Replaces all of the text, wrapping it again from the start.
+	 * @param text - The new text.
+	 */
+	public void setText(String text)
+	{
+		length = 0;
+		paragraphStart = 0;
+		paragraphLine = 0;
+		lineCount = 0;
+		widest = 0;
+		firstLine = 0;
+		stickToBottom = true;
+		append(text);
+		if (textChange != null)
+			textChange.execute(text, this);
+	}
+
+	/**
+	 * @return - All of the text. The String is only built the first time it is asked for after a change.
+	 */
+	public String getText()
+	{
+		if (cached == null)
+			cached = new String(chars, 0, length);
+		return cached;
+	}
+
+	/**
+	 * @return - The number of characters of text.
+	 */
+	public int length()
+	{
+		return length;
+	}
+
+	/**
+	 * Wraps the text from an index onwards, replacing every line from the given one onwards.
+	 */
+	private void wrapFrom(int from, int line)
+	{
+		lineCount = line;
+		int count = breaker.breakLines(chars, from, length, TGUIManager.getFontMetrics(), size.width);
+		if (lineCount + count > starts.length)
 		{
-			while (toDraw.contains("[["))
-			{
-				int i = toDraw.indexOf("[[");
-				toDraw = toDraw.substring(i + 2);
-				h++;
-			}
-			h++;
+			int capacity = Math.max(lineCount + count, starts.length * 2);
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+			widths = Arrays.copyOf(widths, capacity);
 		}
-		
-		height = h;
-		
-		graphic = new Image(w, h * 24);
+		for (int i = 0; i < count; ++i, ++lineCount)
+		{
+			starts[lineCount] = breaker.getLineStart(i);
+			ends[lineCount] = breaker.getLineEnd(i);
+			widths[lineCount] = breaker.getLineWidth(i);
+			if (widest < widths[lineCount])
+				widest = widths[lineCount];
+		}
+
+		for (int i = from; i < length; ++i) // find where the last paragraph now starts, the same way the breaker does
+		{
+			if (chars[i] == '\n')
+				paragraphStart = i + 1;
+			else if (chars[i] == '[' && i + 1 < length && chars[i + 1] == '[')
+				paragraphStart = ++i + 1;
+		}
+		if (paragraphStart < from)
+			paragraphStart = from;
+		int low = line;
+		int high = lineCount - 1;
+		while (low < high) // the first line that starts in the last paragraph
+		{
+			int middle = (low + high) >>> 1;
+			if (starts[middle] < paragraphStart)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		paragraphLine = low;
+		Arrays.fill(visibleIndex, -1);
 	}
-	
-	private void updateLabel() throws SlickException
+
+	private void fitHeight()
+	{
+		if (autoHeight && size.height != textHeight())
+			super.setSize(size.width, textHeight());
+	}
+
+	public void setSize(int width, int height)
 	{
-		toDraw = text;
-		ArrayList<String> list = new ArrayList<String>();
-		if (toDraw.contains("[["))
+		boolean rewrap = width != size.width;
+		super.setSize(width, height);
+		if (rewrap && breaker != null)
 		{
-			while (toDraw.contains("[["))
+			widest = 0;
+			paragraphStart = 0;
+			wrapFrom(0, 0);
+			fitHeight();
+			firstLine = stickToBottom ? maxFirstLine() : Math.min(firstLine, maxFirstLine());
+		}
+	}
+
+	public void setSize(TSize size)
+	{
+		setSize(size.width, size.height);
+	}
+
+	/**
+	 * Sets whether the label grows to fit its text, or stays the same height and scrolls.
+	 * @param autoHeight - True to grow to fit the text.
+	 */
+	public void setAutoHeight(boolean autoHeight)
+	{
+		this.autoHeight = autoHeight;
+		if (autoHeight)
+			firstLine = 0;
+		fitHeight();
+		changed = true;
+	}
+
+	/**
+	 * @return - True if the label grows to fit its text.
+	 */
+	public boolean isAutoHeight()
+	{
+		return autoHeight;
+	}
+
+	/**
+	 * @return - The number of lines the text is wrapped into.
+	 */
+	public int getLineCount()
+	{
+		return lineCount;
+	}
+
+	/**
+	 * @return - The distance in pixels from the top of one line to the top of the next.
+	 */
+	public int getLineSpacing()
+	{
+		return fontHeight + gap;
+	}
+
+	/**
+	 * @return - The height in pixels of all of the lines.
+	 */
+	public int textHeight()
+	{
+		return lineCount * fontHeight + (lineCount + 1) * gap;
+	}
+
+	/**
+	 * @return - The number of whole lines that fit in the label at once.
+	 */
+	public int visibleLines()
+	{
+		return Math.max(1, (size.height - gap) / getLineSpacing());
+	}
+
+	private int maxFirstLine()
+	{
+		return autoHeight ? 0 : Math.max(0, lineCount - visibleLines());
+	}
+
+	/**
+	 * @return - The index of the first line drawn at the top of the label.
+	 */
+	public int getFirstVisibleLine()
+	{
+		return firstLine;
+	}
+
+	/**
+	 * Scrolls so that a line is at the top of the label, or as close to the top as it can be.
+	 * @param line - The line.
+	 */
+	public void scrollTo(int line)
+	{
+		firstLine = Math.max(0, Math.min(line, maxFirstLine()));
+		stickToBottom = firstLine == maxFirstLine();
+		changed = true;
+	}
+
+	/**
+	 * Scrolls to the last line, and keeps following the last line as text is appended.
+	 */
+	public void scrollToBottom()
+	{
+		scrollTo(maxFirstLine());
+	}
+
+	public void scrollUp()
+	{
+		scrollTo(firstLine - 1);
+	}
+
+	public void scrollDown()
+	{
+		scrollTo(firstLine + 1);
+	}
+
+	public void mouseWheelMoved(int change)
+	{
+		if (enabled && !autoHeight && mouseIsOver())
+		{
+			change /= 120;
+			if (change > 0)
+			{
+				for (int i = 0; i < change; ++i)
+					scrollUp();
+			}
+			else if (change < 0)
 			{
-				int i = toDraw.indexOf("[[");
-				list.add(toDraw.substring(0, i));
-				toDraw = toDraw.substring(i + 2);
+				for (int i = 0; i > change; --i)
+					scrollDown();
 			}
-			list.add(toDraw);
+		}
+	}
+
+	/**
+	 * @return - The width in pixels of the widest line.
+	 */
+	public int getWidthOfText()
+	{
+		return widest;
+	}
+
+	/**
+	 * Fills a list with every line of the text. This cuts every line out of the text, so it is only meant for small
+	 * labels.
+	 */
+	protected void fillListWithLines(LinkedList<Split> list)
+	{
+		for (int i = 0; i < lineCount; ++i)
+		{
+			list.add(new Split(new String(chars, starts[i], ends[i] - starts[i]), widths[i], fontHeight));
+			list.getLast().pos.set(TLineBreaker.alignX(textAlign, size.width, widths[i]), i * fontHeight + (i + 1) * gap);
+		}
+	}
+
+	protected void change()
+	{
+		font_colour.a = alpha;
+		changed = false;
+	}
+
+	protected void draw(Graphics g) throws SlickException
+	{
+		int spacing = getLineSpacing();
+		int first;
+		int last;
+		if (autoHeight) // only the lines that are on the screen
+		{
+			first = Math.max(0, (int)((-screenPos.y - gap) / spacing));
+			last = Math.min(lineCount, (int)((TGUIManager.screenHeight - screenPos.y) / spacing) + 1);
 		}
 		else
-			list.add(toDraw);
-		
-		if (height != list.size())
-			graphic = new Image(height, list.size() * 24);
-		
-		height = list.size();
-		/*
-		canvas = graphic.getGraphics();
-		canvas.clear();
-		canvas.setFont(TGUIManager.guiFont);
-		canvas.setColor(new Color(0, 0, 0));
-		int size = list.size();
-		for (int i = 0; i < size; i++)
-			canvas.drawString(list.get(i), 0, i * 24);
-		canvas.flush();*/
-	}
-	
-	public void update(Graphics g)
-	{
-		try
 		{
-			if (changed)
+			first = firstLine;
+			last = Math.min(lineCount, firstLine + visibleLines());
+		}
+		if (visibleText.length < last - first)
+		{
+			visibleText = new String[last - first];
+			visibleIndex = new int[last - first];
+			Arrays.fill(visibleIndex, -1);
+		}
+
+		g.setFont(TGUIManager.guiFont);
+		g.setColor(font_colour);
+		float top = screenPos.y - (autoHeight ? 0 : firstLine * spacing);
+		for (int i = first; i < last; ++i)
+		{
+			int slot = i % visibleText.length;
+			if (visibleIndex[slot] != i)
 			{
-				updateLabel();
-				changed = false;
+				visibleText[slot] = new String(chars, starts[i], ends[i] - starts[i]);
+				visibleIndex[slot] = i;
 			}
+			g.drawString(visibleText[slot], screenPos.x + TLineBreaker.alignX(textAlign, size.width, widths[i]), top + i * fontHeight + (i + 1) * gap);
+		}
+
+		if (!autoHeight && lineCount > visibleLines()) // a thumb showing how far through the text the label is scrolled
+		{
+			int thumb = Math.max(4, size.height * visibleLines() / lineCount);
+			g.fillRect(screenPos.x + size.width - 3, screenPos.y + (size.height - thumb) * firstLine / Math.max(1, maxFirstLine()), 3, thumb);
 		}
-		catch (SlickException e)
+		if (TGUIManager.debug)
 		{
-			e.printStackTrace();
+			g.setColor(TGUIManager.YELLOW);
+			g.drawRect(screenPos.x, screenPos.y, size.width, size.height);
 		}
-		if (visible && alpha > 0.00F)
-			g.drawImage(graphic, screenPos.x, screenPos.y);
+		g.setColor(TGUIManager.BLACK);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package tl.GUI;
+
+import java.util.Arrays;
+
+/**
+ * TLineBreaker wraps text to a width in a single pass, without creating any Strings or copying the text. It reads a char
+ * array or any CharSequence in place.<br>
+ * The running width of the text is worked out once from a {@link TFontMetrics}, so the width of any candidate line is
+ * the difference between two entries rather than a new measurement. The text is then walked once from start to end,
+ * remembering the last space seen, and each line is recorded as a span of indices into the text along with its width.
+ * <br>
+ * Lines are broken:
+ * <ul>
+ * <li>at every hard break, which is a "[[" or a new line character. Neither is part of any line.</li>
+ * <li>at the last space before the first character that doesn't fit. Spaces at the end of a line, or at the start of
+ * the next one, aren't part of either line.</li>
+ * <li>before the first character that doesn't fit, if a single word is wider than the wrap width on its own.</li>
+ * </ul>
+ * A line fits if it is narrower than the wrap width. A line always holds at least one character, however narrow the
+ * wrap width is.<br>
+ * A TLineBreaker keeps its arrays between calls, so one instance can break any number of texts without allocating once
+ * its arrays are big enough. It isn't thread safe.
+ * @since 2.3
+ * @see TTextLayout
+ */
+public class TLineBreaker
+{
+	private int prefix[];
+	private int starts[];
+	private int ends[];
+	private int widths[];
+	private int count;
+	/**
+	 * The text being broken, as one or the other, only set during a call.
+	 */
+	private char array[];
+	private CharSequence sequence;
+
+	/**
+	 * TLineBreaker's constructor.
+	 */
+	public TLineBreaker()
+	{
+		prefix = new int[64];
+		starts = new int[8];
+		ends = new int[8];
+		widths = new int[8];
+	}
+
+	/**
+	 * Breaks part of a char array into lines, replacing the lines found by the last call.
+	 * @param text - The text to break.
+	 * @param start - The index of the first character to break.
+	 * @param end - The index after the last character to break.
+	 * @param metrics - The metrics to measure the text with.
+	 * @param wrapWidth - The width in pixels every line has to be narrower than.
+	 * @return - The number of lines.
+	 * @throws TGUIException - If the text or metrics is NULL, or the range is out of bounds.
+	 */
+	public int breakLines(char text[], int start, int end, TFontMetrics metrics, int wrapWidth) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		if (metrics == null)
+			throw new TGUIException("metrics is NULL!");
+		if (prefix.length < end - start + 1)
+			prefix = new int[Math.max(end - start + 1, prefix.length * 2)];
+		metrics.fillPrefixWidths(text, start, end, prefix);
+		array = text;
+		try
+		{
+			return breakLines(start, end, wrapWidth);
+		}
+		finally
+		{
+			array = null;
+		}
+	}
+
+	/**
+	 * Breaks part of a CharSequence into lines, replacing the lines found by the last call. The text is read in place.
+	 * @param text - The text to break.
+	 * @param start - The index of the first character to break.
+	 * @param end - The index after the last character to break.
+	 * @param metrics - The metrics to measure the text with.
+	 * @param wrapWidth - The width in pixels every line has to be narrower than.
+	 * @return - The number of lines.
+	 * @throws TGUIException - If the text or metrics is NULL, or the range is out of bounds.
+	 * @see #breakLines(char[], int, int, TFontMetrics, int)
+	 */
+	public int breakLines(CharSequence text, int start, int end, TFontMetrics metrics, int wrapWidth) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		if (metrics == null)
+			throw new TGUIException("metrics is NULL!");
+		if (prefix.length < end - start + 1)
+			prefix = new int[Math.max(end - start + 1, prefix.length * 2)];
+		metrics.fillPrefixWidths(text, start, end, prefix);
+		sequence = text;
+		try
+		{
+			return breakLines(start, end, wrapWidth);
+		}
+		finally
+		{
+			sequence = null;
+		}
+	}
+
+	private char charAt(int index)
+	{
+		return array != null ? array[index] : sequence.charAt(index);
+	}
+
+	private int breakLines(int start, int end, int wrapWidth)
+	{
+		count = 0;
+		int lineStart = start;
+		int lastSpace = -1;
+		int i = start;
+		while (i < end)
+		{
+			char c = charAt(i);
+			int hard = c == '\n' ? 1 : (c == '[' && i + 1 < end && charAt(i + 1) == '[' ? 2 : 0);
+			if (hard > 0)
+			{
+				add(lineStart, trimEnd(lineStart, i), start);
+				lineStart = i + hard;
+				lastSpace = -1;
+				i += hard;
+				continue;
+			}
+			if (c == ' ')
+			{
+				lastSpace = i;
+				++i;
+				continue;
+			}
+			if (i > lineStart && prefix[i + 1 - start] - prefix[lineStart - start] >= wrapWidth)
+			{
+				if (lastSpace >= lineStart)
+				{
+					int lineEnd = trimEnd(lineStart, lastSpace);
+					if (lineEnd > lineStart)
+						add(lineStart, lineEnd, start);
+					lineStart = lastSpace + 1;
+					lastSpace = -1;
+					continue; // the current word may still be too wide on a line of its own
+				}
+				add(lineStart, i, start);
+				lineStart = i;
+			}
+			++i;
+		}
+		add(lineStart, trimEnd(lineStart, end), start);
+		return count;
+	}
+
+	private int trimEnd(int lineStart, int lineEnd)
+	{
+		while (lineEnd > lineStart && charAt(lineEnd - 1) == ' ')
+			--lineEnd;
+		return lineEnd;
+	}
+
+	private void add(int lineStart, int lineEnd, int start)
+	{
+		if (count == starts.length)
+		{
+			starts = Arrays.copyOf(starts, count * 2);
+			ends = Arrays.copyOf(ends, count * 2);
+			widths = Arrays.copyOf(widths, count * 2);
+		}
+		starts[count] = lineStart;
+		ends[count] = lineEnd;
+		widths[count] = prefix[lineEnd - start] - prefix[lineStart - start];
+		++count;
+	}
+
+	/**
+	 * @return - The number of lines found by the last call to {@link #breakLines(char[], int, int, TFontMetrics, int)}.
+	 */
+	public int getLineCount()
+	{
+		return count;
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The index in the text of the line's first character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineStart(int index) throws TGUIException
+	{
+		check(index);
+		return starts[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The index in the text after the line's last character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineEnd(int index) throws TGUIException
+	{
+		check(index);
+		return ends[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The width in pixels of the line.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineWidth(int index) throws TGUIException
+	{
+		check(index);
+		return widths[index];
+	}
+
+	/**
+	 * @param alignment - The alignment.
+	 * @param areaWidth - The width of the area the line is placed in.
+	 * @param lineWidth - The width of the line.
+	 * @return - The x position of the line relative to the left of the area.
+	 */
+	public static float alignX(TEAlignment alignment, int areaWidth, int lineWidth)
+	{
+		switch (alignment)
+		{
+			case TOP_LEFT:
+			case CENTRE_LEFT:
+			case BOTTOM_LEFT:
+				return 0;
+			case TOP_RIGHT:
+			case CENTRE_RIGHT:
+			case BOTTOM_RIGHT:
+				return areaWidth - lineWidth - 1;
+			default:
+				return (areaWidth / 2) - (lineWidth / 2);
+		}
+	}
+
+	/**
+	 * @param alignment - The alignment.
+	 * @param areaHeight - The height of the area the text is placed in.
+	 * @param textHeight - The height of all of the lines together.
+	 * @return - The y position of the first line relative to the top of the area.
+	 */
+	public static float alignY(TEAlignment alignment, int areaHeight, int textHeight)
+	{
+		switch (alignment)
+		{
+			case TOP_LEFT:
+			case TOP_CENTRE:
+			case TOP_RIGHT:
+				return 0;
+			case BOTTOM_LEFT:
+			case BOTTOM_CENTRE:
+			case BOTTOM_RIGHT:
+				return areaHeight - textHeight;
+			default:
+				return (areaHeight / 2) - (textHeight / 2);
+		}
+	}
+
+	private void check(int index) throws TGUIException
+	{
+		if (index < 0 || index >= count)
+			throw new TGUIException("index " + index + " out of bounds! [" + count + "]");
+	}
+}
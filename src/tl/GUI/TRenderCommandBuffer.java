@@ -0,0 +1,305 @@
+package tl.GUI;
+
+import java.util.Arrays;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.geom.Shape;
+
+/**
+ * TRenderCommandBuffer is a Graphics context that records draw calls instead of drawing them, so that the GUI can be
+ * drawn without a GL context.<br>
+ * Components draw into it exactly as they would into any other Graphics context, and the recorded rects, lines, strings,
+ * images, polygons, colour changes and font changes can then be replayed through any {@link TIRenderBackend}.<br>
+ * Positions are recorded relative to an origin, so the recording can be replayed anywhere.<br>
+ * Only the draw calls used by TGUIComponents are recorded, the rest of Graphics is ignored.
+ * @since 2.3
+ * @see TGUI#setRenderBackend(TIRenderBackend)
+ */
+public class TRenderCommandBuffer extends Graphics
+{
+	public static final byte COLOUR = 0;
+	public static final byte FONT = 1;
+	public static final byte FILL_RECT = 2;
+	public static final byte DRAW_RECT = 3;
+	public static final byte LINE = 4;
+	public static final byte STRING = 5;
+	public static final byte IMAGE = 6;
+	public static final byte DRAW_POLYGON = 7;
+	public static final byte FILL_POLYGON = 8;
+
+	private byte ops[] = new byte[64];
+	private int opCount;
+	private float args[] = new float[256];
+	private int argCount;
+	private Object refs[] = new Object[32];
+	private int refCount;
+	private float originX;
+	private float originY;
+	private final Color colour = new Color(Color.white);
+	private Font font;
+
+	/**
+	 * TRenderCommandBuffer's constructor.
+	 */
+	public TRenderCommandBuffer()
+	{
+		reset(0, 0);
+	}
+
+	/**
+	 * Clears the recording, keeping the origin at the top left of the screen.
+	 */
+	public void reset()
+	{
+		reset(0, 0);
+	}
+
+	/**
+	 * Clears the recording.
+	 * @param x - The x position on the screen that recorded positions are relative to.
+	 * @param y - The y position on the screen that recorded positions are relative to.
+	 */
+	public void reset(float x, float y)
+	{
+		Arrays.fill(refs, 0, refCount, null);
+		opCount = argCount = refCount = 0;
+		originX = x;
+		originY = y;
+		colour.r = colour.g = colour.b = colour.a = 1f;
+		font = null;
+	}
+
+	/**
+	 * @return - True if nothing has been recorded since the last reset.
+	 */
+	public boolean isEmpty()
+	{
+		return opCount == 0;
+	}
+
+	/**
+	 * @return - The number of commands recorded since the last reset.
+	 */
+	public int size()
+	{
+		return opCount;
+	}
+
+	/**
+	 * @param index - The index of the command.
+	 * @return - The type of the command, one of the constants in this class.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public byte getCommand(int index) throws TGUIException
+	{
+		if (index < 0 || index >= opCount)
+			throw new TGUIException("index " + index + " out of bounds! [" + opCount + "]");
+		return ops[index];
+	}
+
+	/**
+	 * Sends everything that was recorded to a backend, at the position it was recorded at.
+	 * @param backend - The backend to draw with.
+	 */
+	public void replay(TIRenderBackend backend)
+	{
+		replay(backend, originX, originY);
+	}
+
+	/**
+	 * Sends everything that was recorded to a backend.<br>
+	 * This doesn't call {@link TIRenderBackend#begin()} or {@link TIRenderBackend#end()}, so several buffers can be
+	 * replayed in the same frame.
+	 * @param backend - The backend to draw with.
+	 * @param x - The x position to draw the recording at.
+	 * @param y - The y position to draw the recording at.
+	 */
+	public void replay(TIRenderBackend backend, float x, float y)
+	{
+		int arg = 0;
+		int ref = 0;
+		for (int i = 0; i < opCount; ++i)
+		{
+			switch (ops[i])
+			{
+			case COLOUR:
+				backend.setColour(args[arg], args[arg + 1], args[arg + 2], args[arg + 3]);
+				arg += 4;
+				break;
+			case FONT:
+				backend.setFont((Font)refs[ref++]);
+				break;
+			case FILL_RECT:
+				backend.fillRect(x + args[arg], y + args[arg + 1], args[arg + 2], args[arg + 3]);
+				arg += 4;
+				break;
+			case DRAW_RECT:
+				backend.drawRect(x + args[arg], y + args[arg + 1], args[arg + 2], args[arg + 3]);
+				arg += 4;
+				break;
+			case LINE:
+				backend.drawLine(x + args[arg], y + args[arg + 1], x + args[arg + 2], y + args[arg + 3]);
+				arg += 4;
+				break;
+			case STRING:
+				backend.drawString((String)refs[ref++], x + args[arg], y + args[arg + 1]);
+				arg += 2;
+				break;
+			case IMAGE:
+				backend.drawImage((Image)refs[ref++], x + args[arg], y + args[arg + 1],
+						args[arg + 2], args[arg + 3], args[arg + 4], args[arg + 5]);
+				arg += 6;
+				break;
+			case DRAW_POLYGON:
+			case FILL_POLYGON:
+				float points[] = (float[])refs[ref++];
+				if (x != 0 || y != 0)
+				{
+					points = points.clone();
+					for (int p = 0; p < points.length; p += 2)
+					{
+						points[p] += x;
+						points[p + 1] += y;
+					}
+				}
+				backend.drawPolygon(points, ops[i] == FILL_POLYGON);
+				break;
+			}
+		}
+	}
+
+	private void op(byte op)
+	{
+		if (opCount == ops.length)
+			ops = Arrays.copyOf(ops, opCount * 2);
+		ops[opCount++] = op;
+	}
+
+	private void arg(float value)
+	{
+		if (argCount == args.length)
+			args = Arrays.copyOf(args, argCount * 2);
+		args[argCount++] = value;
+	}
+
+	private void ref(Object value)
+	{
+		if (refCount == refs.length)
+			refs = Arrays.copyOf(refs, refCount * 2);
+		refs[refCount++] = value;
+	}
+
+	public void setColor(Color color)
+	{
+		if (color == null)
+			return;
+		colour.r = color.r;
+		colour.g = color.g;
+		colour.b = color.b;
+		colour.a = color.a;
+		op(COLOUR);
+		arg(color.r);
+		arg(color.g);
+		arg(color.b);
+		arg(color.a);
+	}
+
+	public Color getColor()
+	{
+		return new Color(colour);
+	}
+
+	public void setFont(Font font)
+	{
+		this.font = font;
+		op(FONT);
+		ref(font);
+	}
+
+	public Font getFont()
+	{
+		return font;
+	}
+
+	public void fillRect(float x, float y, float width, float height)
+	{
+		op(FILL_RECT);
+		arg(x - originX);
+		arg(y - originY);
+		arg(width);
+		arg(height);
+	}
+
+	public void drawRect(float x, float y, float width, float height)
+	{
+		op(DRAW_RECT);
+		arg(x - originX);
+		arg(y - originY);
+		arg(width);
+		arg(height);
+	}
+
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		op(LINE);
+		arg(x1 - originX);
+		arg(y1 - originY);
+		arg(x2 - originX);
+		arg(y2 - originY);
+	}
+
+	public void drawString(String str, float x, float y)
+	{
+		op(STRING);
+		ref(str);
+		arg(x - originX);
+		arg(y - originY);
+	}
+
+	public void drawImage(Image image, float x, float y)
+	{
+		drawImage(image, x, y, Color.white);
+	}
+
+	public void drawImage(Image image, float x, float y, Color col)
+	{
+		op(IMAGE);
+		ref(image);
+		arg(x - originX);
+		arg(y - originY);
+		arg(col.r);
+		arg(col.g);
+		arg(col.b);
+		arg(col.a);
+	}
+
+	public void draw(Shape shape)
+	{
+		op(DRAW_POLYGON);
+		polygon(shape);
+	}
+
+	public void fill(Shape shape)
+	{
+		op(FILL_POLYGON);
+		polygon(shape);
+	}
+
+	private void polygon(Shape shape)
+	{
+		float points[] = shape.getPoints().clone();
+		for (int i = 0; i < points.length; i += 2)
+		{
+			points[i] -= originX;
+			points[i + 1] -= originY;
+		}
+		ref(points);
+	}
+
+	public void flush() {}
+
+	public void clear() {}
+}
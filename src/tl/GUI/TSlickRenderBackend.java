@@ -0,0 +1,185 @@
+package tl.GUI;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.geom.Polygon;
+import org.newdawn.slick.opengl.TextureImpl;
+import org.newdawn.slick.opengl.renderer.Renderer;
+import org.newdawn.slick.opengl.renderer.SGL;
+
+/**
+ * TSlickRenderBackend draws recorded commands onto a Slick Graphics context, the same way the components would have
+ * drawn them directly.<br>
+ * Batched rects, lines and images are each drawn between a single glBegin and glEnd. Lines are drawn as quads, the same
+ * way Slick draws horizontal and vertical lines, which assumes the Graphics context isn't scaled.
+ * @since 2.3
+ * @see TIRenderBackend
+ * @see TBatchingRenderBackend
+ */
+public class TSlickRenderBackend implements TIBatchRenderBackend
+{
+	private Graphics graphics;
+	private final Color colour = new Color(Color.white);
+	private final Color filter = new Color(Color.white);
+
+	/**
+	 * TSlickRenderBackend's constructor.
+	 * @param graphics - The Graphics context to draw on, normally GameContainer.getGraphics().
+	 */
+	public TSlickRenderBackend(Graphics graphics)
+	{
+		this.graphics = graphics;
+	}
+
+	/**
+	 * @param graphics - The Graphics context to draw on.
+	 */
+	public void setGraphics(Graphics graphics)
+	{
+		this.graphics = graphics;
+	}
+
+	/**
+	 * @return - The Graphics context that is drawn on.
+	 */
+	public Graphics getGraphics()
+	{
+		return graphics;
+	}
+
+	public void begin() {}
+
+	public void end()
+	{
+		graphics.setColor(TGUIManager.BLACK);
+	}
+
+	public void setColour(float r, float g, float b, float a)
+	{
+		colour.r = r;
+		colour.g = g;
+		colour.b = b;
+		colour.a = a;
+		graphics.setColor(colour);
+	}
+
+	public void setFont(Font font)
+	{
+		graphics.setFont(font);
+	}
+
+	public void fillRect(float x, float y, float width, float height)
+	{
+		graphics.fillRect(x, y, width, height);
+	}
+
+	public void drawRect(float x, float y, float width, float height)
+	{
+		graphics.drawRect(x, y, width, height);
+	}
+
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		graphics.drawLine(x1, y1, x2, y2);
+	}
+
+	public void drawString(String text, float x, float y)
+	{
+		graphics.drawString(text, x, y);
+	}
+
+	public void drawImage(Image image, float x, float y, float r, float g, float b, float a)
+	{
+		filter.r = r;
+		filter.g = g;
+		filter.b = b;
+		filter.a = a;
+		graphics.drawImage(image, x, y, filter);
+	}
+
+	public void drawPolygon(float points[], boolean filled)
+	{
+		Polygon polygon = new Polygon(points);
+		if (filled)
+			graphics.fill(polygon);
+		else
+			graphics.draw(polygon);
+	}
+
+	public void fillRects(float rects[], int count)
+	{
+		Graphics.setCurrent(graphics);
+		TextureImpl.bindNone();
+		colour.bind();
+		SGL gl = Renderer.get();
+		gl.glBegin(SGL.GL_QUADS);
+		for (int i = 0; i < count * 4; i += 4)
+			quad(gl, rects[i], rects[i + 1], rects[i] + rects[i + 2], rects[i + 1] + rects[i + 3]);
+		gl.glEnd();
+	}
+
+	public void drawLines(float lines[], int count)
+	{
+		if (!Renderer.getLineStripRenderer().applyGLLineFixes())
+		{
+			for (int i = 0; i < count * 4; i += 4)
+				graphics.drawLine(lines[i], lines[i + 1], lines[i + 2], lines[i + 3]);
+			return;
+		}
+		
+		float width = graphics.getLineWidth() - 1;
+		float half = width / 2f;
+		Graphics.setCurrent(graphics);
+		TextureImpl.bindNone();
+		colour.bind();
+		SGL gl = Renderer.get();
+		gl.glBegin(SGL.GL_QUADS);
+		for (int i = 0; i < count * 4; i += 4)
+		{
+			float x1 = Math.min(lines[i], lines[i + 2]);
+			float y1 = Math.min(lines[i + 1], lines[i + 3]);
+			float x2 = Math.max(lines[i], lines[i + 2]);
+			float y2 = Math.max(lines[i + 1], lines[i + 3]);
+			if (x1 == x2 || y1 == y2)
+				quad(gl, x1 - half, y1 - half, x2 + half + 1, y2 + half + 1);
+		}
+		gl.glEnd();
+		for (int i = 0; i < count * 4; i += 4)
+			if (lines[i] != lines[i + 2] && lines[i + 1] != lines[i + 3])
+				graphics.drawLine(lines[i], lines[i + 1], lines[i + 2], lines[i + 3]);
+	}
+
+	public void drawImages(Image image, float positions[], int count, float r, float g, float b, float a)
+	{
+		filter.r = r;
+		filter.g = g;
+		filter.b = b;
+		filter.a = a;
+		if (image.getRotation() != 0)
+		{
+			for (int i = 0; i < count * 2; i += 2)
+				graphics.drawImage(image, positions[i], positions[i + 1], filter);
+			return;
+		}
+		
+		filter.a *= image.getAlpha();
+		int width = image.getWidth();
+		int height = image.getHeight();
+		Graphics.setCurrent(graphics);
+		image.startUse();
+		for (int i = 0; i < count * 2; i += 2)
+			image.drawEmbedded(positions[i], positions[i + 1], positions[i] + width, positions[i + 1] + height, 
+					0, 0, width, height, filter);
+		image.endUse();
+	}
+
+	private static void quad(SGL gl, float x1, float y1, float x2, float y2)
+	{
+		gl.glVertex2f(x1, y1);
+		gl.glVertex2f(x2, y1);
+		gl.glVertex2f(x2, y2);
+		gl.glVertex2f(x1, y2);
+	}
+}
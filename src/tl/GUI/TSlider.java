@@ -21,6 +21,7 @@ public class TSlider extends TGUIComponent
 	private tl.Util.TSize boxSize;
 	private tl.Util.TPoint slidePos;
 	private tl.Util.TSize slideSize;
+	private final TPoint drawPos = new TPoint(); // where the box and the slider are drawn, reused every frame
 	public final Color background = new Color(TGUIManager.BLACK);
 	public final Color border_grey = new Color(TGUIManager.BUTTON_BORDER);
 	public final Color border_white = new Color(TGUIManager.WHITE);
@@ -64,9 +65,9 @@ public class TSlider extends TGUIComponent
 		changed = true;
 	}
 
-	public boolean mouseIsOver()
+	protected boolean hitTest(float x, float y)
 	{
-		return TCursor.getX() >= screenPos.x + 4 && TCursor.getX() <= screenPos.x + size.width && TCursor.getY() >= screenPos.y && TCursor.getY() <= screenPos.y + size.height && isVisible();
+		return x >= screenPos.x + 4 && x <= screenPos.x + size.width && y >= screenPos.y && y <= screenPos.y + size.height && isVisible();
 	}
 	
 	protected void change()
@@ -138,7 +139,7 @@ public class TSlider extends TGUIComponent
 		/*
 		 * Draws the box part
 		 */
-		tl.Util.TPoint bpoint = screenPos.add(boxPos);
+		TPoint bpoint = screenPos.addTo(boxPos, drawPos);
 		g.setColor(background);
 		g.fillRect(bpoint.x, bpoint.y, boxSize.width, boxSize.height);
 		g.setColor(border_grey);
@@ -151,7 +152,7 @@ public class TSlider extends TGUIComponent
 		/*
 		 * Draws the slider part 
 		 */
-		tl.Util.TPoint spoint = screenPos.add(slidePos.x - 4, slidePos.y);
+		TPoint spoint = screenPos.addTo(slidePos.x - 4, slidePos.y, drawPos);
 		g.setColor(slider_background);
 		g.fillRect(spoint.x, spoint.y, slideSize.width, slideSize.height);
 		g.setColor(border_white);
@@ -182,22 +183,25 @@ public class TSlider extends TGUIComponent
 		
 		if (pressing)
 		{
+			float oldX = slidePos.x;
 			setSlideXFromCursor();
 			long old = value;
 			setValueFromX();
 			
+			if (oldX != slidePos.x)
+				changed = true;
 			if (old != value)
 				if (valueChange != null)
 					valueChange.execute(value, this);
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -259,6 +263,7 @@ public class TSlider extends TGUIComponent
 					pressing = false;
 					setSlideXFromCursor();
 					setValueFromX();
+					changed = true;
 					
 					if (valueFinal != null)
 					{
@@ -290,21 +295,21 @@ public class TSlider extends TGUIComponent
 	public void setSize(int width, int height)
 	{
 		super.setSize(width, height);
-		slideSize = new tl.Util.TSize(9, height);
+		slideSize.set(9, height);
 		xOffset = slideSize.width / 2;
-		slidePos = new TPoint(getSlideXFromValue(), 0);
-		boxSize = new TSize(width - xOffset * 2, (int)(height * .67f));
-		boxPos = new TPoint(xOffset, (int)((height / 2) - (boxSize.height / 2) + 1));
+		slidePos.set(getSlideXFromValue(), 0);
+		boxSize.set(width - xOffset * 2, (int)(height * .67f));
+		boxPos.set(xOffset, (int)((height / 2) - (boxSize.height / 2) + 1));
 	}
 	
 	public void setSize(TSize size)
 	{
 		super.setSize(size);
-		slideSize = new tl.Util.TSize(9, size.height);
+		slideSize.set(9, size.height);
 		xOffset = slideSize.width / 2;
-		slidePos = new TPoint(getSlideXFromValue(), 0);
-		boxSize = new TSize(size.width - xOffset * 2, (int)(size.height * .67f));
-		boxPos = new TPoint(xOffset, (int)((size.height / 2) - (boxSize.height / 2) + 1));
+		slidePos.set(getSlideXFromValue(), 0);
+		boxSize.set(size.width - xOffset * 2, (int)(size.height * .67f));
+		boxPos.set(xOffset, (int)((size.height / 2) - (boxSize.height / 2) + 1));
 	}
 	
 	public void setValue(long value) throws TGUIException
@@ -0,0 +1,825 @@
+package tl.GUI;
+
+import java.util.Arrays;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Input;
+import org.newdawn.slick.SlickException;
+
+/**
+ * TTextArea is a text box that takes more than one line of text, such as scripts and logs.<br>
+ * Its text is kept in the same gap buffer as a TTextBox, and it keeps an index of where every line starts alongside it.
+ * The index is a gap array of its own, with its gap kept at the line being edited: starts before the gap are stored as
+ * they are, and starts after it as their distance from the end of the text, so typing doesn't move any of them. Only
+ * typing or deleting a new line character adds or removes an entry.<br>
+ * Finding the line a character is on is a binary search over the index, and the width of each line is measured once
+ * and then kept up to date from the widths of the characters typed into or deleted from it. The caret's position on its
+ * line is worked out the same way, from a known position near it. Only the lines in view are drawn. Together these make
+ * typing into a 50,000 line text, or into a single line a million characters long, cost the same as typing into a 10
+ * line one.<br>
+ * Lines aren't wrapped, and text wider than the area is cut off on the right. The area scrolls vertically with the
+ * mouse wheel, and to keep the caret in view.
+ * @since 2.3
+ * @see TTextBox
+ */
+public class TTextArea extends TTextBox implements TIGUIScrollable
+{
+	private int starts[];
+	private int widths[];
+	/**
+	 * The first entry of the gap, and the first entry after it. Entries from gapEnd onwards hold the distance from their
+	 * line's start to the end of the text.
+	 */
+	private int gapStart;
+	private int gapEnd;
+	/**
+	 * The length of the text the index was last updated for.
+	 */
+	private int length;
+	/**
+	 * The other end of the selection from the caret, or -1 when nothing is selected. Every edit clears the selection.
+	 */
+	private int anchor = -1;
+	private int firstLine;
+	/**
+	 * The caret's x position in pixels, kept while moving up and down so that short lines don't pull it to the left.
+	 */
+	private int preferredX = -1;
+	/**
+	 * Two characters whose x positions from the start of their lines are known, kept at the caret and at the other end
+	 * of the selection, so that moving either only measures the characters it moves over. -1 where nothing is known.
+	 */
+	private final int knownIndex[] = { -1, -1 };
+	private final int knownX[] = new int[2];
+	/**
+	 * The x positions in pixels of the caret and of the other end of the selection from the start of their lines, worked
+	 * out in change() for draw(Graphics).
+	 */
+	private int caretX;
+	private int anchorX;
+	private String visibleText[];
+	private int visibleIndex[];
+	private int fontHeight;
+	public int gap = 2;
+	public final Color selected_background = new Color(TGUIManager.GUI_MAIN);
+
+	/**
+	 * TTextArea's constructor. The area starts empty.
+	 * @param parent - The parent of this text area. Can be null.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @param w - The width.
+	 * @param h - The height.
+	 * @throws SlickException
+	 */
+	public TTextArea(TGUIComponent parent, float x, float y, int w, int h) throws SlickException
+	{
+		this(parent, x, y, w, h, "");
+	}
+
+	/**
+	 * TTextArea's constructor.
+	 * @param parent - The parent of this text area. Can be null.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @param w - The width.
+	 * @param h - The height.
+	 * @param def - The text the area starts with.
+	 * @throws SlickException
+	 */
+	public TTextArea(TGUIComponent parent, float x, float y, int w, int h, String def) throws SlickException
+	{
+		super(parent, x, y, w, h, def);
+		type = ComponentType.textArea;
+		fontHeight = TGUIManager.getFontMetrics().getLineHeight();
+		visibleText = new String[0];
+		visibleIndex = new int[0];
+		rebuild();
+		setCaretPosition(0);
+	}
+
+	/**
+	 * A TTextArea takes any character, however wide its lines get.
+	 */
+	protected boolean pCanInsert(char c)
+	{
+		return true;
+	}
+
+	/**
+	 * A TTextArea also takes new line characters.
+	 */
+	protected boolean pAccepts(char c)
+	{
+		return c == '\n' || super.pAccepts(c);
+	}
+
+	/**
+	 * A TTextArea has room for any amount of text.
+	 */
+	protected int pRoom()
+	{
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * A TTextArea takes all of the text, however wide its lines get.
+	 */
+	protected int pFit(char chars[], int count)
+	{
+		return count;
+	}
+
+	/**
+	 * Replaces the selection, if there is one, with the text.
+	 */
+	public int insert(CharSequence s) throws TGUIException
+	{
+		if (s == null)
+			throw new TGUIException(type.toString() + "[" + ID + "]: text is NULL!");
+		deleteSelection();
+		int count = super.insert(s);
+		setCaretPosition(getCaretPosition());
+		return count;
+	}
+
+	protected void pInsert(int index, char c)
+	{
+		int line = getLineOfIndex(index);
+		super.pInsert(index, c);
+		inserted(line, index, 1);
+	}
+
+	protected void pInsert(int index, CharSequence s)
+	{
+		int line = getLineOfIndex(index);
+		super.pInsert(index, s);
+		inserted(line, index, s.length());
+	}
+
+	/**
+	 * Updates the index once characters have been inserted into a line. The line's new width is its old width plus the
+	 * width of the characters and the kerning either side of them, and if they hold new line characters, only the
+	 * shorter of the two parts the line is split into is measured.
+	 */
+	private void inserted(int line, int index, int count)
+	{
+		anchor = -1;
+		moveGap(line + 1);
+		length += count;
+		forget(line);
+		for (int i = 0; i < knownIndex.length; ++i)
+			if (knownIndex[i] > index)
+				knownIndex[i] = -1;
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int width = widths[line];
+		int end = index + count;
+		int first = index;
+		while (first < end && text.charAt(first) != '\n')
+			++first;
+		if (first == end)
+		{
+			if (width >= 0)
+				widths[line] = width + metrics.getWidth(text, index, end) + kerning(index - 1, index) + kerning(end - 1, end) - kerning(index - 1, end);
+			return;
+		}
+
+		int last = first;
+		for (int i = first; i < end; ++i)
+			if (text.charAt(i) == '\n')
+			{
+				insertLine(i + 1);
+				last = i;
+			}
+		int tail = gapStart - 1; // the line holding the rest of the split line
+		if (width >= 0)
+		{
+			int start = getLineStart(line);
+			int tailEnd = getLineEnd(tail);
+			int before;
+			int after;
+			if (index - start <= tailEnd - end)
+			{
+				before = metrics.getWidth(text, start, index);
+				after = width - before - kerning(index - 1, end);
+			}
+			else
+			{
+				after = metrics.getWidth(text, end, tailEnd);
+				before = width - after - kerning(index - 1, end);
+			}
+			widths[line] = before + kerning(index - 1, index) + metrics.getWidth(text, index, first);
+			widths[tail] = metrics.getWidth(text, last + 1, end) + kerning(end - 1, end) + after;
+		}
+	}
+
+	/**
+	 * Updates the index as characters are deleted. The width of the line left over is worked out from the widths of the
+	 * deleted characters and the kerning either side of them, before they are deleted.
+	 */
+	protected void pDelete(int start, int end)
+	{
+		int line = getLineOfIndex(start);
+		int last = getLineOfIndex(end);
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int first = widths[entry(line)];
+		int second = widths[entry(last)];
+		int width = -1;
+		if (first >= 0 && second >= 0)
+		{
+			if (line == last)
+				width = first - metrics.getWidth(text, start, end) - kerning(start - 1, start) - kerning(end - 1, end) + kerning(start - 1, end);
+			else
+				width = first - metrics.getWidth(text, start, getLineEnd(line)) - kerning(start - 1, start) + second - metrics.getWidth(text, getLineStart(last), end) - kerning(end - 1, end) + kerning(start - 1, end);
+		}
+		for (int i = 0; i < knownIndex.length; ++i)
+			if (knownIndex[i] > start)
+			{
+				if (getLineOfIndex(knownIndex[i]) == line && knownIndex[i] - start <= start - getLineStart(line)) // measure back to the deleted characters
+				{
+					knownX[i] -= metrics.getWidth(text, start, knownIndex[i]) + kerning(start - 1, start);
+					knownIndex[i] = start;
+				}
+				else
+					knownIndex[i] = -1;
+			}
+
+		super.pDelete(start, end);
+		anchor = -1;
+		moveGap(last + 1);
+		length -= end - start;
+		widths[line] = width;
+		forget(line);
+		if (last > line) // the lines whose new line characters were deleted
+		{
+			gapStart = line + 1;
+			Arrays.fill(visibleIndex, -1);
+		}
+	}
+
+	/**
+	 * Adds the start of a new line to the index, in front of the gap.
+	 */
+	private void insertLine(int start)
+	{
+		if (gapStart == gapEnd)
+		{
+			int after = starts.length - gapEnd;
+			int capacity = starts.length * 2;
+			int grownStarts[] = Arrays.copyOf(starts, capacity);
+			int grownWidths[] = Arrays.copyOf(widths, capacity);
+			System.arraycopy(starts, gapEnd, grownStarts, capacity - after, after);
+			System.arraycopy(widths, gapEnd, grownWidths, capacity - after, after);
+			starts = grownStarts;
+			widths = grownWidths;
+			gapEnd = capacity - after;
+		}
+		starts[gapStart] = start;
+		widths[gapStart] = -1;
+		++gapStart;
+		Arrays.fill(visibleIndex, -1);
+	}
+
+	/**
+	 * Moves the gap in the index so that it starts at a line, converting the starts that cross it.
+	 */
+	private void moveGap(int line)
+	{
+		while (gapStart > line)
+		{
+			--gapStart;
+			--gapEnd;
+			starts[gapEnd] = length - starts[gapStart];
+			widths[gapEnd] = widths[gapStart];
+		}
+		while (gapStart < line)
+		{
+			starts[gapStart] = length - starts[gapEnd];
+			widths[gapStart] = widths[gapEnd];
+			++gapStart;
+			++gapEnd;
+		}
+	}
+
+	/**
+	 * Builds the index again from the whole text.
+	 */
+	private void rebuild()
+	{
+		length = text.length();
+		int count = 1;
+		for (int i = 0; i < length; ++i)
+			if (text.charAt(i) == '\n')
+				++count;
+		starts = new int[Math.max(16, count * 2)];
+		widths = new int[starts.length];
+		Arrays.fill(widths, -1);
+		gapStart = 1;
+		gapEnd = starts.length - count + 1;
+		for (int i = 0, line = gapEnd; i < length; ++i)
+			if (text.charAt(i) == '\n')
+				starts[line++] = length - i - 1;
+		anchor = -1;
+		firstLine = 0;
+		Arrays.fill(visibleIndex, -1);
+		Arrays.fill(knownIndex, -1);
+	}
+
+	/**
+	 * Forgets the drawn String of a line that has been edited.
+	 */
+	private void forget(int line)
+	{
+		if (visibleIndex.length > 0 && visibleIndex[line % visibleIndex.length] == line)
+			visibleIndex[line % visibleIndex.length] = -1;
+	}
+
+	/**
+	 * @return - The number of lines in the text. An empty text has one line.
+	 */
+	public int getLineCount()
+	{
+		return starts.length - (gapEnd - gapStart);
+	}
+
+	/**
+	 * @param line - The line.
+	 * @return - The index in the text of the line's first character.
+	 * @throws TGUIException - If the line is out of bounds.
+	 */
+	public int getLineStart(int line) throws TGUIException
+	{
+		check(line);
+		return line < gapStart ? starts[line] : length - starts[line + gapEnd - gapStart];
+	}
+
+	/**
+	 * @param line - The line.
+	 * @return - The index in the text after the line's last character, not counting its new line character.
+	 * @throws TGUIException - If the line is out of bounds.
+	 */
+	public int getLineEnd(int line) throws TGUIException
+	{
+		return line + 1 < getLineCount() ? getLineStart(line + 1) - 1 : length;
+	}
+
+	/**
+	 * Measures a line the first time its width is needed. After that the width is kept up to date as the line is edited.
+	 * @param line - The line.
+	 * @return - The width in pixels of the line.
+	 * @throws TGUIException - If the line is out of bounds.
+	 */
+	public int getLineWidth(int line) throws TGUIException
+	{
+		int start = getLineStart(line);
+		int entry = entry(line);
+		if (widths[entry] < 0)
+			widths[entry] = TGUIManager.getFontMetrics().getWidth(text, start, getLineEnd(line));
+		return widths[entry];
+	}
+
+	/**
+	 * @return - The entry in the index of a line.
+	 */
+	private int entry(int line)
+	{
+		return line < gapStart ? line : line + gapEnd - gapStart;
+	}
+
+	/**
+	 * Works out the x position of a character from the start of its line. It is measured from whichever is nearest of
+	 * the start of the line, the end of the line if its width is known, or one of the known positions on the line, and
+	 * is then kept as a known position.
+	 * @param index - The index in the text.
+	 * @param slot - Which known position to keep it as: 0 for the caret, 1 for the other end of the selection.
+	 */
+	private int getX(int index, int slot)
+	{
+		int line = getLineOfIndex(index);
+		int start = getLineStart(line);
+		int end = getLineEnd(line);
+		int from = start;
+		int x = 0;
+		for (int i = 0; i < knownIndex.length; ++i)
+			if (knownIndex[i] >= start && knownIndex[i] <= end && Math.abs(index - knownIndex[i]) < Math.abs(index - from))
+			{
+				from = knownIndex[i];
+				x = knownX[i];
+			}
+		int width = widths[entry(line)];
+		if (width >= 0 && end - index < Math.abs(index - from))
+		{
+			from = end;
+			x = width;
+		}
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		if (from < index)
+			x += kerning(from - 1, from) + metrics.getWidth(text, from, index);
+		else if (from > index)
+			x -= metrics.getWidth(text, index, from) + kerning(index - 1, index);
+		knownIndex[slot] = index;
+		knownX[slot] = x;
+		return x;
+	}
+
+	/**
+	 * @return - The kerning between two characters of the text as if they were next to each other, or 0 if either is
+	 * out of bounds or a new line character.
+	 */
+	private int kerning(int left, int right)
+	{
+		if (left < 0 || right >= text.length())
+			return 0;
+		char first = text.charAt(left);
+		char second = text.charAt(right);
+		return first == '\n' || second == '\n' ? 0 : TGUIManager.getFontMetrics().getKerning(first, second);
+	}
+
+	/**
+	 * Finds the line a character is on, with a binary search over the line starts.
+	 * @param index - The index in the text, from 0 to the length of the text.
+	 * @return - The line.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineOfIndex(int index) throws TGUIException
+	{
+		if (index < 0 || index > length)
+			throw new TGUIException("index " + index + " out of bounds! [" + length + "]");
+		int low = 0;
+		int high = getLineCount() - 1;
+		while (low < high)
+		{
+			int middle = (low + high + 1) >>> 1;
+			if (getLineStart(middle) <= index)
+				low = middle;
+			else
+				high = middle - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Finds the character closest to a point relative to the top left of the text area.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @return - The index in the text the caret would be placed at.
+	 */
+	public int getIndexAt(float x, float y)
+	{
+		int line = Math.max(0, Math.min(getLineCount() - 1, firstLine + (int)((y - gap) / getLineSpacing())));
+		return indexOnLine(line, x - 3, true);
+	}
+
+	/**
+	 * Finds the character on a line at an x position relative to the start of the line.
+	 * @param nearest - True for the character whose left edge is nearest to x, false for the first character that
+	 * doesn't fit before x.
+	 */
+	private int indexOnLine(int line, float x, boolean nearest)
+	{
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int end = getLineEnd(line);
+		int width = 0;
+		for (int i = getLineStart(line); i < end; ++i)
+		{
+			int advance = metrics.getAdvance(text.charAt(i));
+			if (x < width + (nearest ? advance / 2 : advance))
+				return i;
+			width += advance;
+		}
+		return end;
+	}
+
+	/**
+	 * @return - The index in the text where the selection starts. Equal to {@link #getSelectionEnd()} when nothing is
+	 * selected.
+	 */
+	public int getSelectionStart()
+	{
+		return Math.min(anchor(), getCaretPosition());
+	}
+
+	/**
+	 * @return - The index in the text after the selection.
+	 */
+	public int getSelectionEnd()
+	{
+		return Math.max(anchor(), getCaretPosition());
+	}
+
+	private int anchor()
+	{
+		return anchor < 0 ? getCaretPosition() : anchor;
+	}
+
+	/**
+	 * @return - The selected text, or an empty String if nothing is selected.
+	 */
+	public String getSelectedText()
+	{
+		return text.subSequence(getSelectionStart(), getSelectionEnd()).toString();
+	}
+
+	/**
+	 * Selects a range of the text, leaving the caret at its end.
+	 * @param start - The index of the first character to select.
+	 * @param end - The index after the last character to select.
+	 * @throws TGUIException - If the range is out of bounds.
+	 */
+	public void setSelection(int start, int end) throws TGUIException
+	{
+		if (start < 0 || end > length || start > end)
+			throw new TGUIException(type.toString() + "[" + ID + "]: range [" + start + ", " + end + "] out of bounds! [" + length + "]");
+		super.setCaretPosition(end);
+		anchor = start;
+		scrollToCaret();
+	}
+
+	public void setCaretPosition(int index) throws TGUIException
+	{
+		super.setCaretPosition(index);
+		anchor = -1;
+		preferredX = -1;
+		scrollToCaret();
+	}
+
+	/**
+	 * Deletes the selected text, leaving the caret where it was.
+	 * @return - True if anything was selected.
+	 */
+	private boolean deleteSelection()
+	{
+		int start = getSelectionStart();
+		int end = getSelectionEnd();
+		if (start == end)
+			return false;
+		pDelete(start, end);
+		setCaretPosition(start);
+		return true;
+	}
+
+	/**
+	 * Moves the caret, either dragging the selection along with it or collapsing it.
+	 */
+	private void moveCaret(int index, boolean select)
+	{
+		int from = anchor();
+		super.setCaretPosition(index);
+		anchor = select && from != index ? from : -1;
+		scrollToCaret();
+	}
+
+	public void keyPressed(int key, char c)
+	{
+		if (!isActive())
+			return;
+		boolean shift = TGUIManager.guiInput.isKeyDown(Input.KEY_LSHIFT) || TGUIManager.guiInput.isKeyDown(Input.KEY_RSHIFT);
+		int caret = getCaretPosition();
+		int line = getLineOfIndex(caret);
+		if (key == Input.KEY_UP || key == Input.KEY_DOWN)
+		{
+			int to = key == Input.KEY_UP ? line - 1 : line + 1;
+			if (preferredX < 0)
+				preferredX = getX(caret, 0);
+			int x = preferredX;
+			if (to < 0)
+				moveCaret(0, shift);
+			else if (to >= getLineCount())
+				moveCaret(length, shift);
+			else
+				moveCaret(indexOnLine(to, x, true), shift);
+			preferredX = x;
+			return;
+		}
+		preferredX = -1;
+		if (key == Input.KEY_HOME)
+			moveCaret(getLineStart(line), shift);
+		else if (key == Input.KEY_END)
+			moveCaret(getLineEnd(line), shift);
+		else if (key == Input.KEY_ENTER)
+		{
+			deleteSelection();
+			pInsert(getCaretPosition(), '\n');
+			setCaretPosition(getCaretPosition() + 1);
+		}
+		else if (key == Input.KEY_BACK || key == Input.KEY_DELETE)
+		{
+			if (!deleteSelection())
+			{
+				super.keyPressed(key, c);
+				setCaretPosition(getCaretPosition());
+			}
+		}
+		else if (key == Input.KEY_LEFT || key == Input.KEY_RIGHT)
+		{
+			if (!shift && anchor >= 0) // collapse the selection to the side being moved towards
+				setCaretPosition(key == Input.KEY_LEFT ? getSelectionStart() : getSelectionEnd());
+			else
+			{
+				int from = anchor();
+				super.keyPressed(key, c);
+				anchor = from;
+				moveCaret(getCaretPosition(), shift);
+			}
+		}
+		else
+		{
+			long revision = text.getRevision();
+			if (c >= 32 && c <= 126)
+				deleteSelection();
+			super.keyPressed(key, c);
+			if (text.getRevision() != revision)
+				setCaretPosition(getCaretPosition());
+		}
+	}
+
+	/**
+	 * The up and down arrow keys repeat as well as the keys a TTextBox repeats.
+	 */
+	protected boolean isKeyRepeated(int key)
+	{
+		return key == Input.KEY_UP || key == Input.KEY_DOWN || super.isKeyRepeated(key);
+	}
+
+	public void mousePressed(int button, int x, int y)
+	{
+		super.mousePressed(button, x, y);
+		if (button == 0 && isActive() && mouseIsOver())
+		{
+			boolean shift = TGUIManager.guiInput.isKeyDown(Input.KEY_LSHIFT) || TGUIManager.guiInput.isKeyDown(Input.KEY_RSHIFT);
+			preferredX = -1;
+			moveCaret(getIndexAt(x - screenPos.x, y - screenPos.y), shift);
+		}
+	}
+
+	public void setText(String text)
+	{
+		super.setText(text);
+		rebuild();
+		setCaretPosition(Math.min(getCaretPosition(), length));
+	}
+
+	public void clear()
+	{
+		super.clear();
+		rebuild();
+		setCaretPosition(0);
+	}
+
+	/**
+	 * @return - The distance in pixels from the top of one line to the top of the next.
+	 */
+	public int getLineSpacing()
+	{
+		return fontHeight + gap;
+	}
+
+	/**
+	 * @return - The number of whole lines that fit in the text area at once.
+	 */
+	public int visibleLines()
+	{
+		return Math.max(1, (size.height - gap) / getLineSpacing());
+	}
+
+	/**
+	 * @return - The index of the first line drawn at the top of the text area.
+	 */
+	public int getFirstVisibleLine()
+	{
+		return firstLine;
+	}
+
+	/**
+	 * Scrolls so that a line is at the top of the text area, or as close to the top as it can be.
+	 * @param line - The line.
+	 */
+	public void scrollTo(int line)
+	{
+		firstLine = Math.max(0, Math.min(line, getLineCount() - visibleLines()));
+		changed = true;
+	}
+
+	/**
+	 * Scrolls just far enough for the caret's line to be in view.
+	 */
+	private void scrollToCaret()
+	{
+		if (starts == null)
+			return;
+		int line = getLineOfIndex(getCaretPosition());
+		if (line < firstLine)
+			scrollTo(line);
+		else if (line >= firstLine + visibleLines())
+			scrollTo(line - visibleLines() + 1);
+	}
+
+	public void scrollUp()
+	{
+		scrollTo(firstLine - 1);
+	}
+
+	public void scrollDown()
+	{
+		scrollTo(firstLine + 1);
+	}
+
+	public void mouseWheelMoved(int change)
+	{
+		if (enabled && mouseIsOver())
+		{
+			change /= 120;
+			if (change > 0)
+			{
+				for (int i = 0; i < change; ++i)
+					scrollUp();
+			}
+			else if (change < 0)
+			{
+				for (int i = 0; i > change; --i)
+					scrollDown();
+			}
+		}
+	}
+
+	protected void change()
+	{
+		scrollToCaret();
+		anchorX = anchor >= 0 ? getX(anchor, 1) : 0;
+		caretX = getX(getCaretPosition(), 0);
+		border.a = alpha;
+		font_colour.a = alpha;
+		selected_background.a = alpha;
+		changed = false;
+	}
+
+	protected void draw(Graphics g) throws SlickException
+	{
+		int spacing = getLineSpacing();
+		int last = Math.min(getLineCount(), firstLine + visibleLines());
+		if (visibleText.length < last - firstLine)
+		{
+			visibleText = new String[last - firstLine];
+			visibleIndex = new int[last - firstLine];
+			Arrays.fill(visibleIndex, -1);
+		}
+
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int caret = getCaretPosition();
+		int selectionStart = getSelectionStart();
+		int selectionEnd = getSelectionEnd();
+		int startX = anchor >= 0 && anchor < caret ? anchorX : caretX;
+		int endX = anchor > caret ? anchorX : caretX;
+		g.setFont(TGUIManager.guiFont);
+		g.setColor(border);
+		g.drawRect(screenPos.x, screenPos.y, size.width, size.height);
+		for (int i = firstLine; i < last; ++i)
+		{
+			int start = getLineStart(i);
+			int end = getLineEnd(i);
+			int shown = getLineWidth(i) < size.width - 6 ? end : indexOnLine(i, size.width - 6, false); // cut off what doesn't fit
+			float y = screenPos.y + (i - firstLine) * spacing + gap;
+			if (selectionStart < selectionEnd && selectionStart <= end && selectionEnd >= start) // the selected part of the line
+			{
+				int from = Math.max(selectionStart, start);
+				int to = Math.min(selectionEnd, end);
+				float x = from == selectionStart ? startX : 0;
+				float w = (to == end ? getLineWidth(i) : endX) - x;
+				if (selectionEnd > end) // the new line character
+					w += metrics.getAdvance(' ');
+				g.setColor(selected_background);
+				g.fillRect(screenPos.x + 3 + x, y, Math.min(w, size.width - 3 - x), fontHeight);
+			}
+
+			int slot = i % visibleText.length;
+			if (visibleIndex[slot] != i)
+			{
+				visibleText[slot] = text.subSequence(start, shown).toString();
+				visibleIndex[slot] = i;
+			}
+			g.setColor(font_colour);
+			g.drawString(visibleText[slot], screenPos.x + 3, y);
+		}
+
+		int caretLine = getLineOfIndex(caret);
+		if (isActive() && caretLine >= firstLine && caretLine < last)
+		{
+			g.setColor(font_colour);
+			g.drawString("_", screenPos.x + 3 + caretX, screenPos.y + (caretLine - firstLine) * spacing + gap + 2);
+		}
+		if (getLineCount() > visibleLines()) // a thumb showing how far through the text the area is scrolled
+		{
+			int thumb = Math.max(4, size.height * visibleLines() / getLineCount());
+			g.setColor(border);
+			g.fillRect(screenPos.x + size.width - 3, screenPos.y + (size.height - thumb) * firstLine / Math.max(1, getLineCount() - visibleLines()), 3, thumb);
+		}
+		g.setColor(TGUIManager.BLACK);
+	}
+
+	private void check(int line) throws TGUIException
+	{
+		if (line < 0 || line >= getLineCount())
+			throw new TGUIException(type.toString() + "[" + ID + "]: index " + line + " out of bounds! [" + getLineCount() + "]");
+	}
+}
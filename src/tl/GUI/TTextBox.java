@@ -1,11 +1,11 @@
 package tl.GUI;
 
-import java.lang.StringBuffer;
 import java.awt.HeadlessException;
 import java.awt.Toolkit;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.newdawn.slick.Color;
 import org.newdawn.slick.Graphics;
@@ -14,12 +14,33 @@ import org.newdawn.slick.SlickException;
 
 public class TTextBox extends TGUIComponent
 {
-	public static TTextBox activeTB;
-	
-	private String oldText;
-	private String text;
+	/**
+	 * The text, edited in place at the caret. Subclasses should edit it through {@link #pInsert(int, char)} and 
+	 * {@link #pDelete(int, int)}.
+	 */
+	protected final TTextBuffer text = new TTextBuffer();
+	/**
+	 * The revision of the text when the text change event was last fired.
+	 */
+	private long seenRevision;
 	private Position tPosition;
 	private float typos; // text y tPosition
+	/**
+	 * True if text wider than the box can be typed, with the box scrolling to keep the caret in view.
+	 */
+	private boolean scrolling = true;
+	/**
+	 * The index of the first character drawn, and the index after the last. Only the characters between them are 
+	 * measured and drawn.
+	 */
+	private int scrollStart;
+	private int scrollEnd;
+	/**
+	 * The running width of the characters drawn, from scrollStart, and the characters drawn as a String. Both are 
+	 * rebuilt in change().
+	 */
+	private int visibleWidths[] = new int[32];
+	private String visibleText = "";
 	public final Color border = new Color(TGUIManager.BLACK);
 	public final Color font_colour = new Color(TGUIManager.BLACK);
 	
@@ -30,17 +51,12 @@ public class TTextBox extends TGUIComponent
 	{
 		super();
 		type = ComponentType.textBox;
-		if (TTextBox.activeTB == null)
-			TTextBox.activeTB = this;
 	}
 
 	public TTextBox(TGUIComponent parent)
 	{
 		super(parent);
 		type = ComponentType.textBox;
-		if (TTextBox.activeTB == null)
-			TTextBox.activeTB = this;
-		text = oldText = "";
 		tPosition = new Position();
 	}
 	
@@ -48,42 +64,53 @@ public class TTextBox extends TGUIComponent
 	{
 		super(parent, x, y, w, h);
 		type = ComponentType.textBox;
-		if (TTextBox.activeTB == null)
-			TTextBox.activeTB = this;
-		text = oldText = "";
 		tPosition = new Position();
 		changed = true;
 	}
 
-	@SuppressWarnings("deprecation")
 	public TTextBox(TGUIComponent parent, float x, float y, int w, int h, String def) throws SlickException
 	{
 		super(parent, x, y, w, h);
 		type = ComponentType.textBox;
-		if (TTextBox.activeTB == null)
-			TTextBox.activeTB = this;
-		text = oldText = def;
+		text.set(def);
+		seenRevision = text.getRevision();
 		tPosition = new Position();
 		tPosition.set(def.length());
-		typos = size.height / 2 - (TGUIManager.guiFont.getHeight(text) / 2) - 2;
 		changed = true;
 	}
 
+	/**
+	 * @return - True if the text box is enabled and has the focus of its TGUI, meaning it is typed into.
+	 */
 	public boolean isActive()
 	{
-		return enabled && TTextBox.activeTB == this;
+		return enabled && hasFocus();
+	}
+	
+	protected boolean isFocusable()
+	{
+		return true;
+	}
+	
+	protected void focusGained()
+	{
+		changed = true;
+	}
+	
+	protected void focusLost()
+	{
+		changed = true;
 	}
 	
-	@SuppressWarnings("deprecation")
 	protected void change()
 	{
-		typos = size.height / 2 - (TGUIManager.guiFont.getHeight(text) / 2) - 2;
+		typos = size.height / 2 - (TGUIManager.getFontMetrics().getLineHeight() / 2) - 2;
+		scrollToCaret();
 		border.a = alpha;
 		font_colour.a = alpha;
 		changed = false;
 	}
 	
-	@SuppressWarnings("deprecation")
 	protected void draw(Graphics g) throws SlickException
 	{/*
 		if (graphic == TGUIManager.emptyImage)
@@ -102,18 +129,12 @@ public class TTextBox extends TGUIComponent
 		g.setColor(border);
 		g.drawRect(screenPos.x, screenPos.y, size.width, size.height);
 		g.setColor(font_colour);
-		if (isActive())
-			g.drawString("_", screenPos.x + TGUIManager.guiFont.getWidth(tPosition.get() < text.length() ? text.substring(0, tPosition.get()) : text), screenPos.y + typos + 2);
-		g.drawString(text, screenPos.x + 3, screenPos.y + typos);
+		if (isActive() && tPosition.get() >= scrollStart && tPosition.get() <= scrollEnd)
+			g.drawString("_", screenPos.x + visibleWidths[tPosition.get() - scrollStart], screenPos.y + typos + 2);
+		g.drawString(visibleText, screenPos.x + 3, screenPos.y + typos);
 		g.setColor(TGUIManager.BLACK);
 	}
 	
-	private boolean arrowdown;
-	private boolean backspacedown = false;
-	private boolean ctrlDown = false;
-	private Time bstime = new Time(15f, 3f);
-	private Time arrowtime = new Time(15f, 3f);
-
 	public void update(Graphics g)
 	{
 		if (mouseIsOver())
@@ -125,70 +146,21 @@ public class TTextBox extends TGUIComponent
 			}
 		}
 		
-		if (isActive() && !text.isEmpty())
-		{
-			ctrlDown = TGUIManager.guiInput.isKeyDown(Input.KEY_LCONTROL) || TGUIManager.guiInput.isKeyDown(Input.KEY_RCONTROL);
-			
-			if (backspacedown) // if the backspace key is being held down
-			{
-				if (bstime.hasFinished())
-				{
-					if (TGUIManager.guiInput.isKeyDown(Input.KEY_BACK))
-					{
-						if (tPosition.get() - 1 > -1)
-						{
-							oldText = text;
-							text = new StringBuffer(text).deleteCharAt(tPosition.get() - 1).toString();
-							tPosition.left();
-							changed = true;
-						}
-					}
-					else if (TGUIManager.guiInput.isKeyDown(Input.KEY_DELETE))
-					{
-						if (tPosition.get() < text.length())
-						{
-							oldText = text;
-							text = new StringBuffer(text).deleteCharAt(tPosition.get()).toString();
-							changed = true;
-						}
-					}
-				}
-			}
-			else if (arrowdown)
-			{
-				if (arrowtime.hasFinished())
-				{
-					if (TGUIManager.guiInput.isKeyDown(Input.KEY_LEFT))
-					{
-						tPosition.left();
-						changed = true;
-					}
-					else if (TGUIManager.guiInput.isKeyDown(Input.KEY_RIGHT))
-					{
-						tPosition.right();
-						changed = true;
-					}
-				}
-			}
-		}
-		
-		if (!oldText.contentEquals(text))
+		if (seenRevision != text.getRevision())
 		{
-			oldText = text;
+			seenRevision = text.getRevision();
 			if (textChange != null)
-			{
-				textChange.execute(text, this);
-				changed = true;
-			}
+				textChange.execute(text.toString(), this);
+			changed = true;
 		}
 		
 		if (changed)
-			change();
+			pChange();
 		
 		try
 		{
 			if (visible && alpha > 0.00f)
-				draw(g);
+				pDraw(g);
 		}
 		catch (SlickException e)
 		{
@@ -215,14 +187,11 @@ public class TTextBox extends TGUIComponent
 		
 		if (button == 1)
 		{
-			if (TTextBox.activeTB != null)
-				TTextBox.activeTB.changed = true;
-			TTextBox.activeTB = null;
-			changed = true;
+			if (hasFocus())
+				gui.setFocus(null);
 		}
 	}
 	
-	@SuppressWarnings("deprecation")
 	public void keyPressed(int key, char c)
 	{
 		if (enabled)
@@ -231,11 +200,9 @@ public class TTextBox extends TGUIComponent
 			{
 				if (c >= 32 && c <= 126)
 				{
-					int w = TGUIManager.guiFont.getWidth(text + Character.toString(c));
-					if (w < size.width - 4)
+					if (pCanInsert(c))
 					{
-						oldText = text;
-						text = new StringBuffer(text).insert(tPosition.get(), c).toString();
+						pInsert(tPosition.get(), c);
 						tPosition.right();
 						changed = true;
 					}
@@ -243,15 +210,11 @@ public class TTextBox extends TGUIComponent
 				
 				if (key == Input.KEY_BACK)
 				{
-					backspacedown = true;
-					bstime.start();
-					
-					if (!text.isEmpty())
+					if (text.length() > 0)
 					{
 						if (tPosition.get() - 1 > -1)
 						{
-							oldText = text;
-							text = new StringBuffer(text).deleteCharAt(tPosition.get() - 1).toString();
+							pDelete(tPosition.get() - 1, tPosition.get());
 							tPosition.left();
 							changed = true;
 						}
@@ -259,28 +222,22 @@ public class TTextBox extends TGUIComponent
 				}
 				else if (key == Input.KEY_DELETE)
 				{
-					backspacedown = true;
-					bstime.start();
-					
-					if (!text.isEmpty())
+					if (text.length() > 0)
 					{
 						if (tPosition.get() < text.length())
 						{
-							oldText = text;
-							text = new StringBuffer(text).deleteCharAt(tPosition.get()).toString();
+							pDelete(tPosition.get(), tPosition.get() + 1);
 							changed = true;
 						}
 					}
 				}
 				else if (key == Input.KEY_V)
 				{
-					if (ctrlDown)
+					if (TGUIManager.guiInput.isKeyDown(Input.KEY_LCONTROL) || TGUIManager.guiInput.isKeyDown(Input.KEY_RCONTROL))
 					{
 						try
 						{
-							oldText = text;
-							text += (String)Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor); // paste data from clipboard into this text box
-							changed = true;
+							insert((String)Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor)); // paste data from clipboard into this text box
 						}
 						catch (HeadlessException e)
 						{
@@ -294,46 +251,263 @@ public class TTextBox extends TGUIComponent
 						{
 							e.printStackTrace();
 						}
-						ctrlDown = false;
 					}
 				}
 				else if (key == Input.KEY_ENTER)
 				{
-					// oldText = text; 			perhaps?
 					if (enterKey != null)
 					{
-						enterKey.execute(text, this);
+						enterKey.execute(text.toString(), this);
 						changed = true;
 					}
 				}
 				else if (key == Input.KEY_LEFT)
 				{
-					arrowtime.start();
 					tPosition.left();
-					arrowdown = true;
 					changed = true;
 				}
 				else if (key == Input.KEY_RIGHT)
 				{
-					arrowtime.start();
 					tPosition.right();
-					arrowdown = true;
 					changed = true;
 				}
 			}
 		}
 	}
 	
-	public void keyReleased(int key, char c)
+	/**
+	 * Backspace, delete and the left and right arrow keys repeat while they are held down.
+	 */
+	protected boolean isKeyRepeated(int key)
+	{
+		return key == Input.KEY_BACK || key == Input.KEY_DELETE || key == Input.KEY_LEFT || key == Input.KEY_RIGHT;
+	}
+	
+	/**
+	 * Inserts text at the caret as a single edit, and moves the caret to the end of it. Characters that can't be typed 
+	 * into the text box are left out in a single pass, which stops as soon as no more characters could fit, and then 
+	 * only as much of the text as fits is inserted. Pasting a very large text into a small box only reads as much of it 
+	 * as the box has room for.
+	 * @param s - The text to insert.
+	 * @return - The number of characters inserted.
+	 * @throws TGUIException - If the text is NULL.
+	 */
+	public int insert(CharSequence s) throws TGUIException
+	{
+		if (s == null)
+			throw new TGUIException(type.toString() + "[" + ID + "]: text is NULL!");
+		int length = s.length();
+		char chars[] = new char[Math.max(0, Math.min(length, pRoom()))];
+		int count = 0;
+		for (int i = 0; i < length && count < chars.length; ++i)
+		{
+			char c = s.charAt(i);
+			if (pAccepts(c))
+				chars[count++] = c;
+		}
+		count = pFit(chars, count);
+		if (count == 0)
+			return 0;
+		pInsert(tPosition.get(), new String(chars, 0, count));
+		tPosition.set(tPosition.get() + count);
+		changed = true;
+		return count;
+	}
+	
+	/**
+	 * Checks whether or not a character can be inserted into the text box at all. A TTextBox takes the printable ASCII 
+	 * characters.
+	 * @param c - The character.
+	 * @return - True if the character is allowed.
+	 */
+	protected boolean pAccepts(char c)
+	{
+		return c >= 32 && c <= 126;
+	}
+	
+	/**
+	 * @return - The most characters that could still be inserted into the text box. A TTextBox has room for one 
+	 * character for every pixel left between its text and its right edge, as no printable character is narrower.
+	 */
+	protected int pRoom()
+	{
+		if (scrolling)
+			return Integer.MAX_VALUE;
+		return size.width - 4 - TGUIManager.getFontMetrics().getWidth(text, 0, text.length());
+	}
+	
+	/**
+	 * Works out how many characters from the start of an array fit into the text box, with a binary search over their 
+	 * running width. A TTextBox only takes characters that keep its text narrower than itself.
+	 * @param chars - The characters to be inserted.
+	 * @param count - The number of characters in the array to insert.
+	 * @return - The number of characters that fit.
+	 */
+	protected int pFit(char chars[], int count)
+	{
+		if (scrolling)
+			return count;
+		if (count <= 0)
+			return 0;
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int textWidth = metrics.getWidth(text, 0, text.length());
+		int widths[] = new int[count + 1];
+		metrics.fillPrefixWidths(chars, 0, count, widths);
+		int low = 0;
+		int high = count;
+		while (low < high)
+		{
+			int middle = (low + high + 1) >>> 1;
+			if (widthWith(textWidth, widths[middle], chars[0], chars[middle - 1]) < size.width - 4)
+				low = middle;
+			else
+				high = middle - 1;
+		}
+		return low;
+	}
+	
+	/**
+	 * Checks whether or not a character can be typed into the text box. A TTextBox only takes characters that keep its
+	 * text narrower than itself.
+	 * @param c - The character being typed.
+	 * @return - True if the character can be inserted.
+	 */
+	protected boolean pCanInsert(char c)
+	{
+		if (scrolling)
+			return true;
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		return widthWith(metrics.getWidth(text, 0, text.length()), metrics.getAdvance(c), c, c) < size.width - 4;
+	}
+	
+	/**
+	 * Works out the width the text would have with characters inserted at the caret, including the kerning where they 
+	 * join the text either side of the caret.
+	 * @param textWidth - The width of the text.
+	 * @param insertedWidth - The width of the characters on their own.
+	 * @param first - The first character inserted.
+	 * @param last - The last character inserted.
+	 * @return - The width in pixels of the text with the characters inserted.
+	 */
+	private int widthWith(int textWidth, int insertedWidth, char first, char last)
+	{
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int caret = tPosition.get();
+		int width = textWidth + insertedWidth;
+		if (caret > 0)
+			width += metrics.getKerning(text.charAt(caret - 1), first);
+		if (caret < text.length())
+			width += metrics.getKerning(last, text.charAt(caret));
+		if (caret > 0 && caret < text.length())
+			width -= metrics.getKerning(text.charAt(caret - 1), text.charAt(caret));
+		return width;
+	}
+	
+	/**
+	 * Inserts a character into the text. Every edit made by typing goes through here or through 
+	 * {@link #pInsert(int, CharSequence)} and {@link #pDelete(int, int)}, so subclasses can keep track of the text.
+	 * @param index - Where to insert the character.
+	 * @param c - The character.
+	 */
+	protected void pInsert(int index, char c)
+	{
+		text.insert(index, c);
+		if (index < scrollStart)
+			++scrollStart;
+	}
+	
+	/**
+	 * Inserts characters into the text.
+	 * @param index - Where to insert the characters.
+	 * @param s - The characters.
+	 * @see #pInsert(int, char)
+	 */
+	protected void pInsert(int index, CharSequence s)
+	{
+		text.insert(index, s);
+		if (index < scrollStart)
+			scrollStart += s.length();
+	}
+	
+	/**
+	 * Deletes a range of the text.
+	 * @param start - The index of the first character to delete.
+	 * @param end - The index after the last character to delete.
+	 * @see #pInsert(int, char)
+	 */
+	protected void pDelete(int start, int end)
+	{
+		text.delete(start, end);
+		if (start < scrollStart)
+			scrollStart = Math.max(start, scrollStart - (end - start));
+	}
+	
+	/**
+	 * Scrolls the text just far enough for the caret to be in view, and rebuilds the drawn characters and their widths. 
+	 * Only the characters around the caret and in view are measured, so this costs the same however long the text is.
+	 */
+	private void scrollToCaret()
+	{
+		TFontMetrics metrics = TGUIManager.getFontMetrics();
+		int length = text.length();
+		int caret = Math.min(tPosition.get(), length);
+		int room = size.width - 6 - metrics.getAdvance('_');
+		int width = 0;
+		if (!scrolling) // the text is never wider than the box
+		{
+			scrollStart = 0;
+			scrollEnd = length;
+		}
+		else
+		{
+			scrollStart = Math.min(scrollStart, caret);
+			int i = caret;
+			while (i > scrollStart && width + metrics.getAdvance(text.charAt(i - 1)) <= room) // past the right edge
+				width += metrics.getAdvance(text.charAt(--i));
+			scrollStart = i;
+			
+			width = 0;
+			for (i = scrollStart; i < length && width <= room; ++i)
+				width += metrics.getAdvance(text.charAt(i));
+			while (width <= room && scrollStart > 0 && width + metrics.getAdvance(text.charAt(scrollStart - 1)) <= room) // space left on the right
+				width += metrics.getAdvance(text.charAt(--scrollStart));
+			
+			width = 0;
+			for (scrollEnd = scrollStart; scrollEnd < length; ++scrollEnd)
+			{
+				width += metrics.getAdvance(text.charAt(scrollEnd));
+				if (width > size.width - 6)
+					break;
+			}
+		}
+		if (visibleWidths.length < scrollEnd - scrollStart + 1)
+			visibleWidths = Arrays.copyOf(visibleWidths, Math.max(scrollEnd - scrollStart + 1, visibleWidths.length * 2));
+		metrics.fillPrefixWidths(text, scrollStart, scrollEnd, visibleWidths);
+		visibleText = text.subSequence(scrollStart, scrollEnd).toString();
+	}
+	
+	/**
+	 * Sets whether text wider than the box can be typed into it, with the box scrolling to keep the caret in view. On by 
+	 * default. With scrolling off, characters that would make the text wider than the box aren't inserted.
+	 * @param scrolling - True to scroll.
+	 */
+	public void setScrolling(boolean scrolling)
+	{
+		this.scrolling = scrolling;
+		changed = true;
+	}
+	
+	public boolean isScrolling()
+	{
+		return scrolling;
+	}
+	
+	/**
+	 * @return - The index of the first character in view.
+	 */
+	public int getScrollPosition()
 	{
-		if (key == Input.KEY_BACK)
-			backspacedown = false;
-		else if (key == Input.KEY_DELETE)
-			backspacedown = false;
-		else if (key == Input.KEY_LEFT)
-			arrowdown = false;
-		else if (key == Input.KEY_RIGHT)
-			arrowdown = false;
+		return scrollStart;
 	}
 	
 	public void onTextChange(TGUITextEvent function)
@@ -348,30 +522,59 @@ public class TTextBox extends TGUIComponent
 	
 	public void setText(String text)
 	{
-		oldText = text;
-		this.text = text;
+		this.text.set(text);
+		seenRevision = this.text.getRevision();
 		if (tPosition.get() > text.length())
 			tPosition.set(text.length());
+		scrollStart = Math.min(scrollStart, text.length());
 		changed = true;
 	}
 	
+	/**
+	 * @return - The text. The String is only built the first time it is asked for after an edit.
+	 */
 	public String getText()
 	{
-		return text;
+		return text.toString();
 	}
 	
-	public void setAsActive()
+	/**
+	 * @return - The index in the text that the caret is in front of.
+	 */
+	public int getCaretPosition()
+	{
+		return tPosition.get();
+	}
+	
+	/**
+	 * Moves the caret in front of a character.
+	 * @param index - The index in the text, from 0 to the length of the text.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public void setCaretPosition(int index) throws TGUIException
 	{
-		if (TTextBox.activeTB != null)
-			TTextBox.activeTB.changed = true;
-		TTextBox.activeTB = this;
+		if (index < 0 || index > text.length())
+			throw new TGUIException("index " + index + " out of bounds! [" + text.length() + "]");
+		tPosition.set(index);
 		changed = true;
 	}
 	
+	/**
+	 * Gives the text box the focus of its TGUI. Does nothing if it hasn't been added to a TGUI.
+	 * @see TGUI#setFocus(TGUIComponent)
+	 */
+	public void setAsActive()
+	{
+		if (gui != null)
+			gui.setFocus(this);
+	}
+	
 	public void clear()
 	{
-		text = "";
+		text.clear();
 		tPosition.set(0);
+		scrollStart = 0;
+		changed = true;
 	}
 	
 	public void moveCaretRight()
@@ -406,39 +609,4 @@ public class TTextBox extends TGUIComponent
 		public void right() { tPosition = tPosition + 1 < text.length() + 1 ? tPosition + 1 : text.length(); }
 		public int get() { return tPosition; }
 	}
-	
-	private class Time
-	{
-		double wait;
-		boolean waitdone;
-		public double limit;
-		public double time;
-		
-		public Time(double waittime, double limit) { wait = waittime; this.limit = limit; }
-		
-		public void start()
-		{
-			waitdone = false;
-			time = 0;
-		}
-		
-		public boolean hasFinished()
-		{
-			if (time < wait && !waitdone)
-				++time;
-			else
-				waitdone = true;
-			if (waitdone)
-			{
-				if (time < limit)
-					++time;
-				else
-				{
-					time = 0;
-					return true;
-				}
-			}
-			return false;
-		}
-	}
 }
\ No newline at end of file
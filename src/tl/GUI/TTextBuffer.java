@@ -0,0 +1,253 @@
+package tl.GUI;
+
+import java.util.Arrays;
+
+/**
+ * TTextBuffer is editable text stored in a gap buffer: a char array with a gap in it at the last place that was edited.
+ * <br>
+ * Inserting or deleting at the gap only moves the gap's edges, so typing and deleting at a caret are O(1) amortised
+ * however long the text is. Editing somewhere else first moves the gap there, which costs the distance moved.<br>
+ * Every edit increases the buffer's revision, so changes can be detected by comparing two numbers rather than two
+ * Strings. The text is only copied into a String when {@link #toString()} is called, and that String is reused until
+ * the next edit.
+ * @since 2.3
+ * @see TTextBox
+ */
+public class TTextBuffer implements CharSequence
+{
+	private char chars[];
+	private int gapStart;
+	private int gapEnd;
+	private long revision;
+	private String cached;
+
+	/**
+	 * TTextBuffer's constructor. The buffer starts empty.
+	 */
+	public TTextBuffer()
+	{
+		this(16);
+	}
+
+	/**
+	 * TTextBuffer's constructor. The buffer starts empty.
+	 * @param capacity - The number of characters the buffer can hold before it has to grow.
+	 */
+	public TTextBuffer(int capacity)
+	{
+		chars = new char[Math.max(1, capacity)];
+		gapStart = 0;
+		gapEnd = chars.length;
+		cached = "";
+	}
+
+	/**
+	 * @return - The number of characters in the buffer.
+	 */
+	public int length()
+	{
+		return chars.length - (gapEnd - gapStart);
+	}
+
+	/**
+	 * @param index - The index of the character.
+	 * @return - The character at the index.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public char charAt(int index) throws TGUIException
+	{
+		if (index < 0 || index >= length())
+			throw new TGUIException("index " + index + " out of bounds! [" + length() + "]");
+		return index < gapStart ? chars[index] : chars[index + gapEnd - gapStart];
+	}
+
+	/**
+	 * @return - The number of edits made to the buffer since it was created. Only ever increases.
+	 */
+	public long getRevision()
+	{
+		return revision;
+	}
+
+	/**
+	 * Inserts a character.
+	 * @param index - Where to insert the character, from 0 to {@link #length()}.
+	 * @param c - The character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public void insert(int index, char c) throws TGUIException
+	{
+		moveGap(index);
+		reserve(1);
+		chars[gapStart++] = c;
+		edited();
+	}
+
+	/**
+	 * Inserts a sequence of characters, growing the buffer at most once.
+	 * @param index - Where to insert the characters, from 0 to {@link #length()}.
+	 * @param text - The characters.
+	 * @throws TGUIException - If the index is out of bounds, or the text is NULL.
+	 */
+	public void insert(int index, CharSequence text) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		int count = text.length();
+		if (count == 0)
+			return;
+		moveGap(index);
+		reserve(count);
+		if (text instanceof String)
+			((String)text).getChars(0, count, chars, gapStart);
+		else
+			for (int i = 0; i < count; ++i)
+				chars[gapStart + i] = text.charAt(i);
+		gapStart += count;
+		edited();
+	}
+
+	/**
+	 * Deletes a range of characters.
+	 * @param start - The index of the first character to delete.
+	 * @param end - The index after the last character to delete.
+	 * @throws TGUIException - If the range is out of bounds.
+	 */
+	public void delete(int start, int end) throws TGUIException
+	{
+		if (start < 0 || end > length() || start > end)
+			throw new TGUIException("range [" + start + ", " + end + "] out of bounds! [" + length() + "]");
+		if (start == end)
+			return;
+		moveGap(end);
+		gapStart = start;
+		edited();
+	}
+
+	/**
+	 * Deletes a single character.
+	 * @param index - The index of the character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public void deleteCharAt(int index) throws TGUIException
+	{
+		delete(index, index + 1);
+	}
+
+	/**
+	 * Replaces all of the text.
+	 * @param text - The new text.
+	 * @throws TGUIException - If the text is NULL.
+	 */
+	public void set(CharSequence text) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		gapStart = 0;
+		gapEnd = chars.length;
+		insert(0, text);
+		if (text.length() == 0)
+			edited();
+		if (text instanceof String)
+			cached = (String)text;
+	}
+
+	/**
+	 * Deletes all of the text.
+	 */
+	public void clear()
+	{
+		gapStart = 0;
+		gapEnd = chars.length;
+		edited();
+	}
+
+	/**
+	 * Copies part of the text into a char array.
+	 * @param start - The index of the first character to copy.
+	 * @param end - The index after the last character to copy.
+	 * @param destination - The array to copy into.
+	 * @param offset - Where in the array to copy the first character to.
+	 * @throws TGUIException - If the range is out of bounds.
+	 */
+	public void getChars(int start, int end, char destination[], int offset) throws TGUIException
+	{
+		if (start < 0 || end > length() || start > end)
+			throw new TGUIException("range [" + start + ", " + end + "] out of bounds! [" + length() + "]");
+		int gap = gapEnd - gapStart;
+		if (end <= gapStart)
+			System.arraycopy(chars, start, destination, offset, end - start);
+		else if (start >= gapStart)
+			System.arraycopy(chars, start + gap, destination, offset, end - start);
+		else
+		{
+			System.arraycopy(chars, start, destination, offset, gapStart - start);
+			System.arraycopy(chars, gapEnd, destination, offset + gapStart - start, end - gapStart);
+		}
+	}
+
+	public CharSequence subSequence(int start, int end) throws TGUIException
+	{
+		char sub[] = new char[end - start];
+		getChars(start, end, sub, 0);
+		return new String(sub);
+	}
+
+	/**
+	 * @return - The text as a String. The same String is returned until the buffer is next edited.
+	 */
+	public String toString()
+	{
+		if (cached == null)
+		{
+			char text[] = new char[length()];
+			getChars(0, text.length, text, 0);
+			cached = new String(text);
+		}
+		return cached;
+	}
+
+	private void edited()
+	{
+		++revision;
+		cached = null;
+	}
+
+	/**
+	 * Moves the gap so that it starts at an index, by shifting the characters between the old and new places across it.
+	 */
+	private void moveGap(int index) throws TGUIException
+	{
+		if (index < 0 || index > length())
+			throw new TGUIException("index " + index + " out of bounds! [" + length() + "]");
+		if (index < gapStart)
+		{
+			int count = gapStart - index;
+			System.arraycopy(chars, index, chars, gapEnd - count, count);
+			gapStart -= count;
+			gapEnd -= count;
+		}
+		else if (index > gapStart)
+		{
+			int count = index - gapStart;
+			System.arraycopy(chars, gapEnd, chars, gapStart, count);
+			gapStart += count;
+			gapEnd += count;
+		}
+	}
+
+	/**
+	 * Makes sure the gap can hold a number of characters, doubling the array if it can't.
+	 */
+	private void reserve(int count)
+	{
+		if (gapEnd - gapStart >= count)
+			return;
+		int after = chars.length - gapEnd;
+		int capacity = Math.max(chars.length * 2, length() + count);
+		char grown[] = Arrays.copyOf(chars, capacity);
+		System.arraycopy(chars, gapEnd, grown, capacity - after, after);
+		chars = grown;
+		gapEnd = capacity - after;
+	}
+}
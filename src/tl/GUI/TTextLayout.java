@@ -0,0 +1,258 @@
+package tl.GUI;
+
+import org.newdawn.slick.Font;
+
+/**
+ * TTextLayout is the result of wrapping a piece of text to a width: the lines it was broken into, and where each line
+ * is drawn relative to the top left of the area it was wrapped to.<br>
+ * Layouts are immutable, so a single layout can be shared by every label showing the same text in the same way. They
+ * are normally obtained from a {@link TTextLayoutCache} rather than created directly.<br>
+ * Each line is stored as a span of indices into the text, along with its width and position.
+ * @since 2.3
+ * @see TTextLayoutCache
+ * @see TLabel
+ */
+public class TTextLayout
+{
+	private final String text;
+	private final Font font;
+	private final int wrapWidth;
+	private final TEAlignment alignment;
+	private final int lineHeight;
+	private final int gap;
+	private final int starts[];
+	private final int ends[];
+	private final int widths[];
+	private final float x[];
+	private final float y[];
+	private final int width;
+	/**
+	 * The text of each line, only cut out of the text the first time the line is asked for.
+	 */
+	private final String lines[];
+
+	private TTextLayout(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap, TLineBreaker breaker)
+	{
+		this.text = text;
+		this.font = font;
+		this.wrapWidth = wrapWidth;
+		this.alignment = alignment;
+		this.lineHeight = lineHeight;
+		this.gap = gap;
+		int count = breaker.getLineCount();
+		starts = new int[count];
+		ends = new int[count];
+		widths = new int[count];
+		x = new float[count];
+		y = new float[count];
+		lines = new String[count];
+		int widest = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			starts[i] = breaker.getLineStart(i);
+			ends[i] = breaker.getLineEnd(i);
+			widths[i] = breaker.getLineWidth(i);
+			x[i] = TLineBreaker.alignX(alignment, wrapWidth, widths[i]);
+			y[i] = i * lineHeight + (i + 1) * gap;
+			if (widest < widths[i])
+				widest = widths[i];
+		}
+		width = widest;
+	}
+
+	/**
+	 * Wraps a piece of text with a new {@link TLineBreaker}. {@link TTextLayoutCache#get(String, Font, int, TEAlignment, int, int)}
+	 * should be used instead wherever the same text is laid out more than once, as it also reuses a single breaker.
+	 * @param text - The text to wrap.
+	 * @param font - The font to measure the text with.
+	 * @param wrapWidth - The width in pixels to wrap the text to.
+	 * @param alignment - Where each line is placed horizontally within the wrap width.
+	 * @param lineHeight - The height in pixels of each line.
+	 * @param gap - The space in pixels above each line.
+	 * @return - The new layout.
+	 * @throws TGUIException - If the text, font or alignment is NULL.
+	 */
+	public static TTextLayout create(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap) throws TGUIException
+	{
+		return create(text, font, wrapWidth, alignment, lineHeight, gap, new TLineBreaker());
+	}
+
+	/**
+	 * Wraps a piece of text with a breaker that is reused between calls. The text is read in place rather than copied.
+	 * @see #create(String, Font, int, TEAlignment, int, int)
+	 */
+	static TTextLayout create(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap, TLineBreaker breaker) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		if (font == null)
+			throw new TGUIException("font is NULL!");
+		if (alignment == null)
+			throw new TGUIException("alignment is NULL!");
+		breaker.breakLines(text, 0, text.length(), TFontMetrics.get(font), wrapWidth);
+		return new TTextLayout(text, font, wrapWidth, alignment, lineHeight, gap, breaker);
+	}
+
+	/**
+	 * Checks whether or not this layout is what wrapping the given text in the given way would produce, so that a label
+	 * can tell that it doesn't need to wrap its text again.
+	 * @param text - The text.
+	 * @param font - The font.
+	 * @param wrapWidth - The wrap width.
+	 * @param alignment - The alignment.
+	 * @param lineHeight - The line height.
+	 * @param gap - The gap above each line.
+	 * @return - True if this layout was made from exactly these values.
+	 */
+	public boolean matches(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap)
+	{
+		return this.font == font && this.wrapWidth == wrapWidth && this.alignment == alignment && this.lineHeight == lineHeight
+				&& this.gap == gap && (this.text == text || this.text.equals(text));
+	}
+
+	/**
+	 * @return - The text that was wrapped.
+	 */
+	public String getText()
+	{
+		return text;
+	}
+
+	/**
+	 * @return - The font the text was measured with.
+	 */
+	public Font getFont()
+	{
+		return font;
+	}
+
+	/**
+	 * @return - The width in pixels the text was wrapped to.
+	 */
+	public int getWrapWidth()
+	{
+		return wrapWidth;
+	}
+
+	/**
+	 * @return - Where each line is placed horizontally within the wrap width.
+	 */
+	public TEAlignment getAlignment()
+	{
+		return alignment;
+	}
+
+	/**
+	 * @return - The height in pixels of each line.
+	 */
+	public int getLineHeight()
+	{
+		return lineHeight;
+	}
+
+	/**
+	 * @return - The space in pixels above each line.
+	 */
+	public int getGap()
+	{
+		return gap;
+	}
+
+	/**
+	 * @return - The number of lines the text was broken into.
+	 */
+	public int getLineCount()
+	{
+		return starts.length;
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The text of the line.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public String getLine(int index) throws TGUIException
+	{
+		check(index);
+		if (lines[index] == null)
+			lines[index] = text.substring(starts[index], ends[index]);
+		return lines[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The index in the text of the line's first character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineStart(int index) throws TGUIException
+	{
+		check(index);
+		return starts[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The index in the text after the line's last character.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineEnd(int index) throws TGUIException
+	{
+		check(index);
+		return ends[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The width in pixels of the line.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public int getLineWidth(int index) throws TGUIException
+	{
+		check(index);
+		return widths[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The x position the line is drawn at, relative to the left of the wrap width.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public float getLineX(int index) throws TGUIException
+	{
+		check(index);
+		return x[index];
+	}
+
+	/**
+	 * @param index - The line.
+	 * @return - The y position the line is drawn at, relative to the top of the text.
+	 * @throws TGUIException - If the index is out of bounds.
+	 */
+	public float getLineY(int index) throws TGUIException
+	{
+		check(index);
+		return y[index];
+	}
+
+	/**
+	 * @return - The width in pixels of the widest line.
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * @return - The height in pixels of all of the lines, including the gap above each one and below the last.
+	 */
+	public int getHeight()
+	{
+		return starts.length * lineHeight + (starts.length + 1) * gap;
+	}
+
+	private void check(int index) throws TGUIException
+	{
+		if (index < 0 || index >= starts.length)
+			throw new TGUIException("index " + index + " out of bounds! [" + starts.length + "]");
+	}
+}
@@ -0,0 +1,183 @@
+package tl.GUI;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.newdawn.slick.Font;
+
+/**
+ * TTextLayoutCache keeps the most recently used {@link TTextLayout}s, keyed by everything that decides how the text is
+ * wrapped: the text itself, the font, the wrap width, the alignment, the line height and the gap above each line.<br>
+ * Labels showing the same text share one layout, and a label whose text hasn't changed never wraps it again. Once the
+ * cache holds its capacity, the least recently used layout is dropped to make room.<br>
+ * Layouts that aren't in the cache are all wrapped by the same {@link TLineBreaker}, which keeps its arrays between
+ * them. The cache isn't thread safe, and should only be used from the thread that updates the GUI.
+ * @since 2.3
+ * @see TGUIManager#textLayouts
+ */
+public class TTextLayoutCache
+{
+	/**
+	 * The number of layouts kept by the shared cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 512;
+
+	private final LinkedHashMap<Key, TTextLayout> layouts;
+	private final Key probe;
+	private final TLineBreaker breaker;
+	private int capacity;
+	private long hits;
+	private long misses;
+
+	/**
+	 * TTextLayoutCache's constructor.
+	 * @param capacity - The most layouts to keep at once.
+	 * @throws TGUIException - If the capacity is less than 1.
+	 */
+	public TTextLayoutCache(int capacity) throws TGUIException
+	{
+		if (capacity < 1)
+			throw new TGUIException("capacity [" + capacity + "] must be at least 1.");
+		this.capacity = capacity;
+		probe = new Key();
+		breaker = new TLineBreaker();
+		layouts = new LinkedHashMap<Key, TTextLayout>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<Key, TTextLayout> eldest)
+			{
+				return size() > TTextLayoutCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Finds the layout of a piece of text, wrapping it only if it isn't already in the cache.
+	 * @param text - The text to wrap.
+	 * @param font - The font to measure the text with.
+	 * @param wrapWidth - The width in pixels to wrap the text to.
+	 * @param alignment - Where each line is placed horizontally within the wrap width.
+	 * @param lineHeight - The height in pixels of each line.
+	 * @param gap - The space in pixels above each line.
+	 * @return - The layout.
+	 * @throws TGUIException - If the text, font or alignment is NULL.
+	 * @see TTextLayout#create(String, Font, int, TEAlignment, int, int)
+	 */
+	public TTextLayout get(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap) throws TGUIException
+	{
+		if (text == null)
+			throw new TGUIException("text is NULL!");
+		probe.set(text, font, wrapWidth, alignment, lineHeight, gap);
+		TTextLayout layout = layouts.get(probe);
+		probe.text = null;
+		probe.font = null;
+		if (layout != null)
+		{
+			++hits;
+			return layout;
+		}
+		++misses;
+		layout = TTextLayout.create(text, font, wrapWidth, alignment, lineHeight, gap, breaker);
+		Key key = new Key();
+		key.set(text, font, wrapWidth, alignment, lineHeight, gap);
+		layouts.put(key, layout);
+		return layout;
+	}
+
+	/**
+	 * Sets the most layouts to keep at once, dropping the least recently used ones if there are too many.
+	 * @param capacity - The new capacity.
+	 * @throws TGUIException - If the capacity is less than 1.
+	 */
+	public void setCapacity(int capacity) throws TGUIException
+	{
+		if (capacity < 1)
+			throw new TGUIException("capacity [" + capacity + "] must be at least 1.");
+		this.capacity = capacity;
+		while (layouts.size() > capacity)
+			layouts.remove(layouts.keySet().iterator().next());
+	}
+
+	/**
+	 * @return - The most layouts kept at once.
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * @return - The number of layouts in the cache.
+	 */
+	public int size()
+	{
+		return layouts.size();
+	}
+
+	/**
+	 * @return - The number of times a layout was found in the cache.
+	 */
+	public long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * @return - The number of times a layout had to be created.
+	 */
+	public long getMisses()
+	{
+		return misses;
+	}
+
+	/**
+	 * Drops every layout, and resets the hit and miss counts.
+	 */
+	public void clear()
+	{
+		layouts.clear();
+		hits = misses = 0;
+	}
+
+	private static class Key
+	{
+		String text;
+		Font font;
+		int wrapWidth;
+		TEAlignment alignment;
+		int lineHeight;
+		int gap;
+		int hash;
+
+		void set(String text, Font font, int wrapWidth, TEAlignment alignment, int lineHeight, int gap)
+		{
+			this.text = text;
+			this.font = font;
+			this.wrapWidth = wrapWidth;
+			this.alignment = alignment;
+			this.lineHeight = lineHeight;
+			this.gap = gap;
+			int h = text.hashCode();
+			h = h * 31 + System.identityHashCode(font);
+			h = h * 31 + wrapWidth;
+			h = h * 31 + (alignment == null ? 0 : alignment.ordinal());
+			h = h * 31 + lineHeight;
+			hash = h * 31 + gap;
+		}
+
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Key))
+				return false;
+			Key key = (Key)o;
+			return hash == key.hash && font == key.font && wrapWidth == key.wrapWidth && alignment == key.alignment
+					&& lineHeight == key.lineHeight && gap == key.gap && text.equals(key.text);
+		}
+	}
+}
@@ -4,9 +4,9 @@ public class TBinaryTree<T extends Comparable<T>> implements TiTree<T>
 {
 	private TreeNode<T> root;
 	
-	private TBinaryTree()
+	public TBinaryTree()
 	{
-		root = new TreeNode<T>();
+		root = null;
 	}
 	
 	public void addObject(T object)
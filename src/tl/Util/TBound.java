@@ -32,7 +32,7 @@ public class TBound
 	public TBound(TPoint top, TSize dimensions)
 	{
 		tCorner = new TPoint(top);
-		bCorner = new TPoint(top.add(dimensions.width, dimensions.height));
+		bCorner = top.addTo(dimensions.width, dimensions.height, new TPoint());
 	}
 	
 	public TBound(float x, float y, int width, int height)
@@ -145,8 +145,7 @@ public class TBound
 	
 	public TSize getSize()
 	{
-		TPoint pos = bCorner.subtract(tCorner);
-		return new TSize((int)pos.x, (int)pos.y);
+		return new TSize((int)(bCorner.x - tCorner.x), (int)(bCorner.y - tCorner.y));
 	}
 	
 	public int getWidth()
@@ -105,7 +105,7 @@ public class TGeneralTree<T>
 		
 		public int size()
 		{
-			int s = 0;
+			int s = 1;
 			for (TreeNode<T> node : children)
 				s += node.size();
 			return s;
@@ -4,7 +4,11 @@ public class TPoint implements Comparable<TPoint>
 {
 	public float x;
 	public float y;
-	public static final TPoint ZERO = new TPoint();
+	/**
+	 * The point 0,0. It can't be changed through any of its methods.
+	 * @see #constant(float, float)
+	 */
+	public static final TPoint ZERO = constant(0, 0);
 	
 	public TPoint()
 	{
@@ -76,6 +80,208 @@ public class TPoint implements Comparable<TPoint>
 		return new TPoint(this.x / x, this.y / y);
 	}
 	
+	/**
+	 * Adds p to this point, storing the result in this point instead of creating a new one.
+	 * @param p - The point to add.
+	 * @return - This point.
+	 */
+	public TPoint addInPlace(TPoint p)
+	{
+		set(x + p.x, y + p.y);
+		return this;
+	}
+	
+	public TPoint addInPlace(float x, float y)
+	{
+		set(this.x + x, this.y + y);
+		return this;
+	}
+	
+	/**
+	 * Adds p to this point, storing the result in out instead of creating a new point. Out can be this point or p.
+	 * @param p - The point to add.
+	 * @param out - The point to store the result in.
+	 * @return - out.
+	 */
+	public TPoint addTo(TPoint p, TPoint out)
+	{
+		out.set(x + p.x, y + p.y);
+		return out;
+	}
+	
+	public TPoint addTo(float x, float y, TPoint out)
+	{
+		out.set(this.x + x, this.y + y);
+		return out;
+	}
+	
+	/**
+	 * Subtracts p from this point, storing the result in this point instead of creating a new one.
+	 * @param p - The point to subtract.
+	 * @return - This point.
+	 */
+	public TPoint subtractInPlace(TPoint p)
+	{
+		set(x - p.x, y - p.y);
+		return this;
+	}
+	
+	public TPoint subtractInPlace(float x, float y)
+	{
+		set(this.x - x, this.y - y);
+		return this;
+	}
+	
+	/**
+	 * Subtracts p from this point, storing the result in out instead of creating a new point. Out can be this point or p.
+	 * @param p - The point to subtract.
+	 * @param out - The point to store the result in.
+	 * @return - out.
+	 */
+	public TPoint subtractTo(TPoint p, TPoint out)
+	{
+		out.set(x - p.x, y - p.y);
+		return out;
+	}
+	
+	public TPoint subtractTo(float x, float y, TPoint out)
+	{
+		out.set(this.x - x, this.y - y);
+		return out;
+	}
+	
+	/**
+	 * Multiplies this point by p, storing the result in this point instead of creating a new one.
+	 * @param p - The point to multiply by.
+	 * @return - This point.
+	 */
+	public TPoint multiplyInPlace(TPoint p)
+	{
+		set(x * p.x, y * p.y);
+		return this;
+	}
+	
+	public TPoint multiplyInPlace(float x, float y)
+	{
+		set(this.x * x, this.y * y);
+		return this;
+	}
+	
+	/**
+	 * Multiplies this point by p, storing the result in out instead of creating a new point. Out can be this point or p.
+	 * @param p - The point to multiply by.
+	 * @param out - The point to store the result in.
+	 * @return - out.
+	 */
+	public TPoint multiplyTo(TPoint p, TPoint out)
+	{
+		out.set(x * p.x, y * p.y);
+		return out;
+	}
+	
+	public TPoint multiplyTo(float x, float y, TPoint out)
+	{
+		out.set(this.x * x, this.y * y);
+		return out;
+	}
+	
+	/**
+	 * Divides this point by p, storing the result in this point instead of creating a new one.
+	 * @param p - The point to divide by.
+	 * @return - This point.
+	 */
+	public TPoint divideInPlace(TPoint p)
+	{
+		set(x / p.x, y / p.y);
+		return this;
+	}
+	
+	public TPoint divideInPlace(float x, float y)
+	{
+		set(this.x / x, this.y / y);
+		return this;
+	}
+	
+	/**
+	 * Divides this point by p, storing the result in out instead of creating a new point. Out can be this point or p.
+	 * @param p - The point to divide by.
+	 * @param out - The point to store the result in.
+	 * @return - out.
+	 */
+	public TPoint divideTo(TPoint p, TPoint out)
+	{
+		out.set(x / p.x, y / p.y);
+		return out;
+	}
+	
+	public TPoint divideTo(float x, float y, TPoint out)
+	{
+		out.set(this.x / x, this.y / y);
+		return out;
+	}
+	
+	/**
+	 * Packs an x and a y position into a single long, so that a point can be stored or passed around without creating a 
+	 * TPoint.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @return - The packed point.
+	 * @see #unpackX(long)
+	 * @see #unpackY(long)
+	 */
+	public static long pack(float x, float y)
+	{
+		return ((long)Float.floatToRawIntBits(x) << 32) | (Float.floatToRawIntBits(y) & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * @param packed - A point packed with {@link #pack(float, float)}.
+	 * @return - The x position of the packed point.
+	 */
+	public static float unpackX(long packed)
+	{
+		return Float.intBitsToFloat((int)(packed >>> 32));
+	}
+	
+	/**
+	 * @param packed - A point packed with {@link #pack(float, float)}.
+	 * @return - The y position of the packed point.
+	 */
+	public static float unpackY(long packed)
+	{
+		return Float.intBitsToFloat((int)packed);
+	}
+	
+	/**
+	 * @return - This point packed into a single long.
+	 * @see #pack(float, float)
+	 */
+	public long pack()
+	{
+		return pack(x, y);
+	}
+	
+	/**
+	 * Sets this point to a point packed with {@link #pack(float, float)}.
+	 * @param packed - The packed point.
+	 */
+	public void setPacked(long packed)
+	{
+		set(unpackX(packed), unpackY(packed));
+	}
+	
+	/**
+	 * Creates a point that throws a TException if any of its methods try to change it. Its fields are still public, so 
+	 * they should never be assigned to directly.
+	 * @param x - The x position.
+	 * @param y - The y position.
+	 * @return - The constant point.
+	 */
+	public static TPoint constant(float x, float y)
+	{
+		return new Constant(x, y);
+	}
+	
 	protected boolean greaterThan(TPoint p)
 	{
 		return y > p.y ? true : (y == p.y ? x > p.x : false);
@@ -97,10 +303,9 @@ public class TPoint implements Comparable<TPoint>
 	
 	public byte compare(float x, float y)
 	{
-		TPoint p = new TPoint(x, y);
-		if (lessThan(p))
+		if (this.y < y || (this.y == y && this.x < x))
 			return -1;
-		if (greaterThan(p))
+		if (this.y > y || (this.y == y && this.x > x))
 			return 1;
 		return 0;
 	}
@@ -196,7 +401,9 @@ public class TPoint implements Comparable<TPoint>
 	public static double distance(TPoint source, TPoint destination)
 	{
 		//return Math.sqrt(Math.pow((destination.x - source.x), 2) + Math.pow((destination.y - source.y), 2));
-		return length(destination.subtract(source));
+		float x = destination.x - source.x;
+		float y = destination.y - source.y;
+		return Math.sqrt(x * x + y * y);
 	}
 	
 	/**
@@ -217,8 +424,10 @@ public class TPoint implements Comparable<TPoint>
 	 */
 	public static TPoint normalizeDestination(TPoint source, TPoint destination)
 	{
-		TPoint point = destination.subtract(source);
-		return new TPoint(point.x / (float)length(point), point.y / (float)length(point));
+		float x = destination.x - source.x;
+		float y = destination.y - source.y;
+		float length = (float)Math.sqrt(x * x + y * y);
+		return new TPoint(x / length, y / length);
 	}
 	
 	/**
@@ -228,7 +437,8 @@ public class TPoint implements Comparable<TPoint>
 	 */
 	public static TPoint normalize(TPoint source)
 	{
-		return new TPoint(source.x / (float)length(source), source.y / (float)length(source));
+		float length = (float)length(source);
+		return new TPoint(source.x / length, source.y / length);
 	}
 	
 	/**
@@ -297,6 +507,48 @@ public class TPoint implements Comparable<TPoint>
 		return (int)(13f * x + 43f * y);
 	}
 	
+	/**
+	 * A point that can't be changed through its methods.
+	 * @see TPoint#constant(float, float)
+	 */
+	private static final class Constant extends TPoint
+	{
+		private Constant(float x, float y)
+		{
+			super(x, y);
+		}
+		
+		private static TException unchangeable()
+		{
+			return new TException("TPoint constants can't be changed!");
+		}
+		
+		public void set(TPoint p)
+		{
+			throw unchangeable();
+		}
+		
+		public void set(float x, float y)
+		{
+			throw unchangeable();
+		}
+		
+		public void translate(float xPos, float yPos)
+		{
+			throw unchangeable();
+		}
+		
+		public void scale(float xScale, float yScale)
+		{
+			throw unchangeable();
+		}
+		
+		public void rotate(float angle)
+		{
+			throw unchangeable();
+		}
+	}
+	
 	/**
 	 * Direction provides a quick and easy abstraction for directions based on a 2D point.
 	 * @author Callum Nichols
@@ -311,7 +563,7 @@ public class TPoint implements Comparable<TPoint>
 		
 		private Direction(float x, float y)
 		{
-			dir = new TPoint(x, y);
+			dir = TPoint.constant(x, y);
 		}
 		
 		/**
@@ -4,7 +4,11 @@ public class TSize implements Comparable<TSize>, TITransformable<Integer>
 {
 	public int width;
 	public int height;
-	public static final TSize ZERO = new TSize();
+	/**
+	 * The size 0,0. It can't be changed through any of its methods.
+	 * @see #constant(int, int)
+	 */
+	public static final TSize ZERO = constant(0, 0);
 	
 	public TSize()
 	{
@@ -75,6 +79,208 @@ public class TSize implements Comparable<TSize>, TITransformable<Integer>
 		return new TSize(this.width / width, this.height / height);
 	}
 	
+	/**
+	 * Adds p to this size, storing the result in this size instead of creating a new one.
+	 * @param p - The size to add.
+	 * @return - This size.
+	 */
+	public TSize addInPlace(TSize p)
+	{
+		set(width + p.width, height + p.height);
+		return this;
+	}
+	
+	public TSize addInPlace(int width, int height)
+	{
+		set(this.width + width, this.height + height);
+		return this;
+	}
+	
+	/**
+	 * Adds p to this size, storing the result in out instead of creating a new size. Out can be this size or p.
+	 * @param p - The size to add.
+	 * @param out - The size to store the result in.
+	 * @return - out.
+	 */
+	public TSize addTo(TSize p, TSize out)
+	{
+		out.set(width + p.width, height + p.height);
+		return out;
+	}
+	
+	public TSize addTo(int width, int height, TSize out)
+	{
+		out.set(this.width + width, this.height + height);
+		return out;
+	}
+	
+	/**
+	 * Subtracts p from this size, storing the result in this size instead of creating a new one.
+	 * @param p - The size to subtract.
+	 * @return - This size.
+	 */
+	public TSize subtractInPlace(TSize p)
+	{
+		set(width - p.width, height - p.height);
+		return this;
+	}
+	
+	public TSize subtractInPlace(int width, int height)
+	{
+		set(this.width - width, this.height - height);
+		return this;
+	}
+	
+	/**
+	 * Subtracts p from this size, storing the result in out instead of creating a new size. Out can be this size or p.
+	 * @param p - The size to subtract.
+	 * @param out - The size to store the result in.
+	 * @return - out.
+	 */
+	public TSize subtractTo(TSize p, TSize out)
+	{
+		out.set(width - p.width, height - p.height);
+		return out;
+	}
+	
+	public TSize subtractTo(int width, int height, TSize out)
+	{
+		out.set(this.width - width, this.height - height);
+		return out;
+	}
+	
+	/**
+	 * Multiplies this size by p, storing the result in this size instead of creating a new one.
+	 * @param p - The size to multiply by.
+	 * @return - This size.
+	 */
+	public TSize multiplyInPlace(TSize p)
+	{
+		set(width * p.width, height * p.height);
+		return this;
+	}
+	
+	public TSize multiplyInPlace(int width, int height)
+	{
+		set(this.width * width, this.height * height);
+		return this;
+	}
+	
+	/**
+	 * Multiplies this size by p, storing the result in out instead of creating a new size. Out can be this size or p.
+	 * @param p - The size to multiply by.
+	 * @param out - The size to store the result in.
+	 * @return - out.
+	 */
+	public TSize multiplyTo(TSize p, TSize out)
+	{
+		out.set(width * p.width, height * p.height);
+		return out;
+	}
+	
+	public TSize multiplyTo(int width, int height, TSize out)
+	{
+		out.set(this.width * width, this.height * height);
+		return out;
+	}
+	
+	/**
+	 * Divides this size by p, storing the result in this size instead of creating a new one.
+	 * @param p - The size to divide by.
+	 * @return - This size.
+	 */
+	public TSize divideInPlace(TSize p)
+	{
+		set(width / p.width, height / p.height);
+		return this;
+	}
+	
+	public TSize divideInPlace(int width, int height)
+	{
+		set(this.width / width, this.height / height);
+		return this;
+	}
+	
+	/**
+	 * Divides this size by p, storing the result in out instead of creating a new size. Out can be this size or p.
+	 * @param p - The size to divide by.
+	 * @param out - The size to store the result in.
+	 * @return - out.
+	 */
+	public TSize divideTo(TSize p, TSize out)
+	{
+		out.set(width / p.width, height / p.height);
+		return out;
+	}
+	
+	public TSize divideTo(int width, int height, TSize out)
+	{
+		out.set(this.width / width, this.height / height);
+		return out;
+	}
+	
+	/**
+	 * Packs a width and a height into a single long, so that a size can be stored or passed around without creating a 
+	 * TSize.
+	 * @param width - The width.
+	 * @param height - The height.
+	 * @return - The packed size.
+	 * @see #unpackWidth(long)
+	 * @see #unpackHeight(long)
+	 */
+	public static long pack(int width, int height)
+	{
+		return ((long)width << 32) | (height & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * @param packed - A size packed with {@link #pack(int, int)}.
+	 * @return - The width of the packed size.
+	 */
+	public static int unpackWidth(long packed)
+	{
+		return (int)(packed >>> 32);
+	}
+	
+	/**
+	 * @param packed - A size packed with {@link #pack(int, int)}.
+	 * @return - The height of the packed size.
+	 */
+	public static int unpackHeight(long packed)
+	{
+		return (int)packed;
+	}
+	
+	/**
+	 * @return - This size packed into a single long.
+	 * @see #pack(int, int)
+	 */
+	public long pack()
+	{
+		return pack(width, height);
+	}
+	
+	/**
+	 * Sets this size to a size packed with {@link #pack(int, int)}.
+	 * @param packed - The packed size.
+	 */
+	public void setPacked(long packed)
+	{
+		set(unpackWidth(packed), unpackHeight(packed));
+	}
+	
+	/**
+	 * Creates a size that throws a TException if any of its methods try to change it. Its fields are still public, so 
+	 * they should never be assigned to directly.
+	 * @param width - The width.
+	 * @param height - The height.
+	 * @return - The constant size.
+	 */
+	public static TSize constant(int width, int height)
+	{
+		return new Constant(width, height);
+	}
+	
 	// COMPARISON METHODS GO HERE
 	public int compareTo(TSize o)
 	{
@@ -126,4 +332,51 @@ public class TSize implements Comparable<TSize>, TITransformable<Integer>
 	{
 		// TODO dont forget this shit
 	}
+	
+	/**
+	 * A size that can't be changed through its methods.
+	 * @see TSize#constant(int, int)
+	 */
+	private static final class Constant extends TSize
+	{
+		private Constant(int width, int height)
+		{
+			super(width, height);
+		}
+		
+		private static TException unchangeable()
+		{
+			return new TException("TSize constants can't be changed!");
+		}
+		
+		public void set(TSize size)
+		{
+			throw unchangeable();
+		}
+		
+		public void set(int width, int height)
+		{
+			throw unchangeable();
+		}
+		
+		public void translate(Integer distance)
+		{
+			throw unchangeable();
+		}
+		
+		public void translate(Integer xdistance, Integer ydistance)
+		{
+			throw unchangeable();
+		}
+		
+		public void scale(Integer amount)
+		{
+			throw unchangeable();
+		}
+		
+		public void scale(Integer xscale, Integer yscale)
+		{
+			throw unchangeable();
+		}
+	}
 }